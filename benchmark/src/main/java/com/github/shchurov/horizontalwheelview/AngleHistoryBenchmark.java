@@ -0,0 +1,83 @@
+package com.github.shchurov.horizontalwheelview;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AngleHistoryBenchmark {
+
+    private static final long SEED = 42;
+    private static final int CAPACITY = 1024;
+    private static final int SAMPLES_COUNT = 240;
+    private static final long SAMPLE_INTERVAL_MILLIS = 4;
+    private static final long FRAME_INTERVAL_MILLIS = 16;
+    private static final double SCROLL_ANGLE_MULTIPLIER = 0.002;
+
+    private AngleHistory recordHistory = new AngleHistory(CAPACITY);
+    private AngleHistory replayHistory = new AngleHistory(CAPACITY);
+    private long[] times = new long[SAMPLES_COUNT];
+    private double[] angles = new double[SAMPLES_COUNT];
+
+    @Setup
+    public void setup() {
+        Random random = new Random(SEED);
+        double angle = 0;
+        for (int i = 0; i < SAMPLES_COUNT; i++) {
+            double phase = (double) i / SAMPLES_COUNT;
+            double distance = 3 * Math.sin(Math.PI * phase) + (random.nextDouble() - 0.5);
+            angle += distance * SCROLL_ANGLE_MULTIPLIER;
+            times[i] = (i + 1) * SAMPLE_INTERVAL_MILLIS;
+            angles[i] = angle;
+        }
+        recordGesture(replayHistory);
+    }
+
+    private void recordGesture(AngleHistory history) {
+        history.setGestureAnchor(0, 0);
+        for (int i = 0; i < SAMPLES_COUNT; i++) {
+            history.record(times[i], angles[i]);
+            if (i == 0) {
+                history.onGestureStart();
+            }
+        }
+        history.onGestureEnd(times[SAMPLES_COUNT - 1], angles[SAMPLES_COUNT - 1]);
+    }
+
+    @Benchmark
+    public int record() {
+        recordHistory.clear();
+        recordGesture(recordHistory);
+        return recordHistory.size();
+    }
+
+    @Benchmark
+    public double replay() {
+        replayHistory.beginReplay();
+        double sum = replayHistory.getReplayAngle();
+        long elapsed = 0;
+        boolean running = true;
+        while (running) {
+            elapsed += FRAME_INTERVAL_MILLIS;
+            running = replayHistory.advanceReplay(elapsed);
+            sum += replayHistory.getReplayAngle();
+        }
+        return sum;
+    }
+
+}
@@ -0,0 +1,77 @@
+package com.github.shchurov.horizontalwheelview;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+import static java.lang.Math.PI;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HeadlessRenderBenchmark {
+
+    private static final int WIDTH = 600;
+    private static final int HEIGHT = 96;
+    private static final int BACKGROUND_COLOR = 0xff000000;
+    private static final double ANGLE_INCREMENT = 0.0137;
+
+    @Param({"10", "40", "120", "360", "1000"})
+    int marksCount;
+
+    @Param({"true", "false"})
+    boolean batchingEnabled;
+
+    private MarksRenderer renderer;
+    private LineRasterizer rasterizer;
+    private double angle;
+
+    @Setup
+    public void setup() {
+        renderer = new MarksRenderer();
+        renderer.setMarksCount(marksCount);
+        renderer.setNormalColor(0xffffffff);
+        renderer.setActiveColor(0xff54acf0);
+        renderer.setBatchingEnabled(batchingEnabled);
+        renderer.setMarkWidths(2, 4);
+        renderer.setViewport(WIDTH, 0, 0, HEIGHT);
+        renderer.getGeometry().setShowActiveRange(true);
+        rasterizer = new LineRasterizer();
+        rasterizer.setSize(WIDTH, HEIGHT);
+        angle = 1;
+    }
+
+    private double nextAngle() {
+        angle += ANGLE_INCREMENT;
+        if (angle >= 2 * PI) {
+            angle -= 4 * PI;
+        }
+        return angle;
+    }
+
+    @Benchmark
+    public LineCommands render() {
+        return renderer.render(nextAngle());
+    }
+
+    @Benchmark
+    public int[] renderAndRasterize() {
+        rasterizer.clear(BACKGROUND_COLOR);
+        rasterizer.draw(renderer.render(nextAngle()));
+        return rasterizer.getPixels();
+    }
+
+}
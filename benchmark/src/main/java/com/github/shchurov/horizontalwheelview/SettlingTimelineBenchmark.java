@@ -0,0 +1,75 @@
+package com.github.shchurov.horizontalwheelview;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SettlingTimelineBenchmark {
+
+    private static final long SEED = 42;
+    private static final long NANOS_PER_SECOND = 1000000000;
+    private static final double START_ANGLE = 0.5;
+    private static final double VELOCITY = 6;
+    private static final double DISTANCE = 1.5;
+    private static final int DROPPED_FRAMES_PERCENT = 10;
+
+    @Param({"60", "90", "120", "144"})
+    int refreshRate;
+
+    @Param({"true", "false"})
+    boolean droppedFrames;
+
+    private SettlingCurve curve = new SettlingCurve();
+    private long durationNanos;
+    private double exponent;
+    private long[] frameTimes;
+
+    @Setup
+    public void setup() {
+        durationNanos = SettlingCurve.calcDurationNanos(DISTANCE, VELOCITY, 0, Long.MAX_VALUE);
+        exponent = SettlingCurve.calcExponent(DISTANCE, VELOCITY, durationNanos);
+        long frameIntervalNanos = NANOS_PER_SECOND / refreshRate;
+        int framesCount = (int) (durationNanos / frameIntervalNanos) + 2;
+        Random random = new Random(SEED);
+        long[] times = new long[framesCount];
+        int n = 0;
+        for (int i = 1; i <= framesCount; i++) {
+            if (!droppedFrames || random.nextInt(100) >= DROPPED_FRAMES_PERCENT || i == framesCount) {
+                times[n++] = i * frameIntervalNanos;
+            }
+        }
+        frameTimes = new long[n];
+        System.arraycopy(times, 0, frameTimes, 0, n);
+    }
+
+    @Benchmark
+    public double timeline() {
+        curve.set(START_ANGLE, START_ANGLE + DISTANCE, durationNanos, exponent);
+        double maxStep = 0;
+        double previous = START_ANGLE;
+        for (long frameTime : frameTimes) {
+            double angle = curve.getAngle(frameTime);
+            maxStep = Math.max(maxStep, angle - previous);
+            previous = angle;
+        }
+        return maxStep + previous;
+    }
+
+}
@@ -0,0 +1,69 @@
+package com.github.shchurov.horizontalwheelview;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TouchReplayBenchmark {
+
+    private static final long SEED = 42;
+    private static final int SAMPLES_COUNT = 240;
+    private static final long SAMPLE_INTERVAL_MILLIS = 4;
+    private static final int SAMPLES_PER_FRAME = 4;
+    private static final float FRAME_INTERVAL_MILLIS = SAMPLE_INTERVAL_MILLIS * SAMPLES_PER_FRAME;
+
+    @Param({"true", "false"})
+    boolean predictionEnabled;
+
+    private MotionPredictor predictor = new MotionPredictor();
+    private long[] times = new long[SAMPLES_COUNT];
+    private float[] positions = new float[SAMPLES_COUNT];
+
+    @Setup
+    public void setup() {
+        Random random = new Random(SEED);
+        float position = 0;
+        for (int i = 0; i < SAMPLES_COUNT; i++) {
+            double phase = (double) i / SAMPLES_COUNT;
+            float speed = (float) (3 * Math.sin(Math.PI * phase));
+            position += speed + (random.nextFloat() - 0.5f);
+            times[i] = i * SAMPLE_INTERVAL_MILLIS;
+            positions[i] = position;
+        }
+    }
+
+    @Benchmark
+    public double replay() {
+        predictor.reset();
+        double lagError = 0;
+        for (int i = 0; i < SAMPLES_COUNT; i++) {
+            predictor.addSample(times[i], positions[i]);
+            if (i % SAMPLES_PER_FRAME == 0 && i + SAMPLES_PER_FRAME < SAMPLES_COUNT) {
+                float drawn = positions[i];
+                if (predictionEnabled) {
+                    drawn += predictor.predict(FRAME_INTERVAL_MILLIS);
+                }
+                lagError += Math.abs(positions[i + SAMPLES_PER_FRAME] - drawn);
+            }
+        }
+        return lagError;
+    }
+
+}
@@ -0,0 +1,104 @@
+package com.github.shchurov.horizontalwheelview;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+import static java.lang.Math.PI;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WheelGeometryBenchmark {
+
+    private static final int WIDTH = 1080;
+    private static final double ANGLE_INCREMENT = 0.0137;
+
+    @Param({"10", "40", "120", "360", "1000"})
+    int marksCount;
+
+    @Param({"true", "false"})
+    boolean trigTableEnabled;
+
+    private WheelGeometry geometry;
+    private double step;
+    private double angle;
+
+    @Setup
+    public void setup() {
+        geometry = new WheelGeometry();
+        geometry.setMarksCount(marksCount);
+        geometry.setShowActiveRange(true);
+        geometry.setTrigTableEnabled(trigTableEnabled);
+        geometry.setWidth(WIDTH);
+        step = 2 * PI / marksCount;
+        angle = 1;
+    }
+
+    private double nextAngle() {
+        angle += ANGLE_INCREMENT;
+        if (angle >= 2 * PI) {
+            angle -= 4 * PI;
+        }
+        return angle;
+    }
+
+    private double calcOffset(double angle) {
+        double offset = (PI / 2 - angle) % step;
+        return offset < 0 ? offset + step : offset;
+    }
+
+    @Benchmark
+    public float[] frame() {
+        geometry.update(nextAngle());
+        return geometry.getGaps();
+    }
+
+    @Benchmark
+    public float[] setupGaps() {
+        geometry.setupGaps(step, calcOffset(nextAngle()), WIDTH);
+        return geometry.getGaps();
+    }
+
+    @Benchmark
+    public float[] setupShadesAndScales() {
+        geometry.setupShadesAndScales(step, calcOffset(nextAngle()));
+        return geometry.getShades();
+    }
+
+    @Benchmark
+    public int calcZeroIndex() {
+        return geometry.calcZeroIndex(nextAngle(), step);
+    }
+
+    @Benchmark
+    public int[] setupColorSwitches() {
+        double angle = nextAngle();
+        geometry.setupColorSwitches(angle, step, calcOffset(angle), geometry.calcZeroIndex(angle, step));
+        return geometry.getColorSwitches();
+    }
+
+    @Benchmark
+    public int applyShade() {
+        return WheelGeometry.applyShade(0xff54acf0, (float) (0.3 + 0.7 * Math.abs(Math.sin(nextAngle()))));
+    }
+
+    @Benchmark
+    public double findNearestMarkAngle() {
+        return WheelGeometry.findNearestMarkAngle(nextAngle(), marksCount);
+    }
+
+}
@@ -0,0 +1,202 @@
+package com.github.shchurov.horizontalwheelview;
+
+class AngleHistory {
+
+    static final double QUANTUM = 1e-5;
+    private static final int MAX_CHECKPOINTS_COUNT = 64;
+    private static final int MIN_CAPACITY = 2;
+
+    private final int capacity;
+    private final int[] angleDeltas;
+    private final int[] timeDeltas;
+    private long firstSeq;
+    private long nextSeq;
+    private long firstUnits;
+    private long firstTime;
+    private long lastUnits;
+    private long lastTime;
+
+    private final long[] checkpointUnits = new long[MAX_CHECKPOINTS_COUNT];
+    private int checkpointsStart;
+    private int checkpointsCount;
+    private int checkpointCursor = -1;
+
+    private long anchorSeq = -1;
+    private long anchorUnits;
+    private long anchorTime;
+    private boolean inGesture;
+    private long gestureStartSeq;
+    private long gestureStartTime;
+    private long lastGestureStartSeq = -1;
+    private long lastGestureEndSeq = -1;
+    private long lastGestureStartTime;
+
+    private long replaySeq;
+    private long replayEndSeq;
+    private long replayUnits;
+    private long replayTime;
+    private long replayStartTime;
+
+    AngleHistory(int capacity) {
+        this.capacity = Math.max(MIN_CAPACITY, capacity);
+        angleDeltas = new int[this.capacity];
+        timeDeltas = new int[this.capacity];
+    }
+
+    int getCapacity() {
+        return capacity;
+    }
+
+    int size() {
+        return (int) (nextSeq - firstSeq);
+    }
+
+    void clear() {
+        firstSeq = 0;
+        nextSeq = 0;
+        checkpointsStart = 0;
+        checkpointsCount = 0;
+        checkpointCursor = -1;
+        anchorSeq = -1;
+        inGesture = false;
+        lastGestureStartSeq = -1;
+        lastGestureEndSeq = -1;
+    }
+
+    static long quantize(double angle) {
+        return Math.round(angle / QUANTUM);
+    }
+
+    void record(long timeMillis, double angle) {
+        long units = quantize(angle);
+        if (nextSeq == firstSeq) {
+            firstUnits = units;
+            firstTime = timeMillis;
+        } else {
+            if (units == lastUnits) {
+                return;
+            }
+            if (nextSeq - firstSeq == capacity) {
+                dropFirst();
+            }
+            int index = (int) (nextSeq % capacity);
+            angleDeltas[index] = (int) (units - lastUnits);
+            timeDeltas[index] = (int) Math.min(Integer.MAX_VALUE, Math.max(0, timeMillis - lastTime));
+        }
+        lastUnits = units;
+        lastTime = timeMillis;
+        nextSeq++;
+    }
+
+    private void dropFirst() {
+        firstSeq++;
+        int index = (int) (firstSeq % capacity);
+        firstUnits += angleDeltas[index];
+        firstTime += timeDeltas[index];
+    }
+
+    void setGestureAnchor(long timeMillis, double angle) {
+        record(timeMillis, angle);
+        anchorSeq = nextSeq - 1;
+        anchorUnits = lastUnits;
+        anchorTime = timeMillis;
+    }
+
+    void onGestureStart() {
+        if (inGesture || anchorSeq < firstSeq) {
+            return;
+        }
+        if (checkpointCursor < 0 || getCheckpointUnits(checkpointCursor) != anchorUnits) {
+            pushCheckpoint(anchorUnits);
+        }
+        inGesture = true;
+        gestureStartSeq = anchorSeq;
+        gestureStartTime = anchorTime;
+    }
+
+    void onGestureEnd(long timeMillis, double angle) {
+        if (!inGesture) {
+            return;
+        }
+        inGesture = false;
+        record(timeMillis, angle);
+        lastGestureStartSeq = gestureStartSeq;
+        lastGestureEndSeq = nextSeq - 1;
+        lastGestureStartTime = gestureStartTime;
+        long units = quantize(angle);
+        if (getCheckpointUnits(checkpointCursor) != units) {
+            pushCheckpoint(units);
+        }
+    }
+
+    private void pushCheckpoint(long units) {
+        checkpointsCount = checkpointCursor + 1;
+        if (checkpointsCount == MAX_CHECKPOINTS_COUNT) {
+            checkpointsStart = (checkpointsStart + 1) % MAX_CHECKPOINTS_COUNT;
+            checkpointsCount--;
+        }
+        checkpointUnits[(checkpointsStart + checkpointsCount) % MAX_CHECKPOINTS_COUNT] = units;
+        checkpointsCount++;
+        checkpointCursor = checkpointsCount - 1;
+    }
+
+    private long getCheckpointUnits(int position) {
+        return checkpointUnits[(checkpointsStart + position) % MAX_CHECKPOINTS_COUNT];
+    }
+
+    boolean canUndo() {
+        return !inGesture && checkpointCursor > 0;
+    }
+
+    boolean canRedo() {
+        return !inGesture && checkpointCursor < checkpointsCount - 1;
+    }
+
+    double undo() {
+        checkpointCursor--;
+        return getCheckpointUnits(checkpointCursor) * QUANTUM;
+    }
+
+    double redo() {
+        checkpointCursor++;
+        return getCheckpointUnits(checkpointCursor) * QUANTUM;
+    }
+
+    boolean beginReplay() {
+        if (lastGestureEndSeq < 0 || lastGestureStartSeq < firstSeq) {
+            return false;
+        }
+        replaySeq = firstSeq;
+        replayUnits = firstUnits;
+        replayTime = firstTime;
+        while (replaySeq < lastGestureStartSeq) {
+            advanceReplaySample();
+        }
+        replayEndSeq = lastGestureEndSeq;
+        replayStartTime = lastGestureStartTime;
+        return true;
+    }
+
+    boolean advanceReplay(long elapsedMillis) {
+        while (replaySeq < replayEndSeq) {
+            int index = (int) ((replaySeq + 1) % capacity);
+            if (replayTime + timeDeltas[index] - replayStartTime > elapsedMillis) {
+                return true;
+            }
+            advanceReplaySample();
+        }
+        return false;
+    }
+
+    private void advanceReplaySample() {
+        replaySeq++;
+        int index = (int) (replaySeq % capacity);
+        replayUnits += angleDeltas[index];
+        replayTime += timeDeltas[index];
+    }
+
+    double getReplayAngle() {
+        return replayUnits * QUANTUM;
+    }
+
+}
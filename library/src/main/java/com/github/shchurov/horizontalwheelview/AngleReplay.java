@@ -0,0 +1,62 @@
+package com.github.shchurov.horizontalwheelview;
+
+class AngleReplay implements FrameScheduler.Callback {
+
+    private static final long NANOS_PER_MILLI = 1000000;
+
+    private HorizontalWheelView view;
+    private AngleHistory history;
+    private FrameScheduler scheduler;
+    private boolean running;
+    private long startTimeNanos;
+
+    AngleReplay(HorizontalWheelView view, AngleHistory history, WheelCoordinator coordinator) {
+        this.view = view;
+        this.history = history;
+        scheduler = FrameScheduler.create(this, coordinator);
+    }
+
+    void setCoordinator(WheelCoordinator coordinator) {
+        boolean posted = scheduler.posted;
+        scheduler.cancel();
+        scheduler = FrameScheduler.create(this, coordinator);
+        if (posted) {
+            scheduler.postFrame();
+        }
+    }
+
+    boolean start() {
+        cancel();
+        if (!history.beginReplay()) {
+            return false;
+        }
+        running = true;
+        startTimeNanos = System.nanoTime();
+        view.applyAngle(history.getReplayAngle());
+        scheduler.postFrame();
+        return true;
+    }
+
+    void cancel() {
+        if (running) {
+            running = false;
+            scheduler.cancel();
+        }
+    }
+
+    boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public void onFrame(long frameTimeNanos) {
+        long elapsedMillis = Math.max(0, frameTimeNanos - startTimeNanos) / NANOS_PER_MILLI;
+        if (history.advanceReplay(elapsedMillis)) {
+            scheduler.postFrame();
+        } else {
+            running = false;
+        }
+        view.applyAngle(history.getReplayAngle());
+    }
+
+}
@@ -0,0 +1,88 @@
+package com.github.shchurov.horizontalwheelview;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.Paint;
+import android.graphics.Picture;
+import android.graphics.RectF;
+import android.os.Build;
+
+class CursorLayer {
+
+    private Paint paint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    private RectF localRect = new RectF();
+    private Picture picture;
+    private Bitmap bitmap;
+    private boolean valid;
+    private boolean recordedAsPicture;
+    private int builtWidth;
+    private int builtHeight;
+    private float builtCornersRadius;
+    private int builtColor;
+
+    boolean isBuiltFor(int width, int height, float cornersRadius, int color) {
+        return valid && builtWidth == width && builtHeight == height && builtCornersRadius == cornersRadius
+                && builtColor == color;
+    }
+
+    void draw(Canvas canvas, RectF cursorRect, float cornersRadius, int color) {
+        int width = (int) Math.ceil(cursorRect.width());
+        int height = (int) Math.ceil(cursorRect.height());
+        if (width <= 0 || height <= 0) {
+            return;
+        }
+        boolean usePicture = Build.VERSION.SDK_INT >= Build.VERSION_CODES.M || !canvas.isHardwareAccelerated();
+        if (!isBuiltFor(width, height, cornersRadius, color) || usePicture != recordedAsPicture) {
+            localRect.set(0, 0, cursorRect.width(), cursorRect.height());
+            paint.setColor(color);
+            if (usePicture) {
+                recordPicture(width, height, cornersRadius);
+            } else {
+                renderBitmap(width, height, cornersRadius);
+            }
+            recordedAsPicture = usePicture;
+            builtWidth = width;
+            builtHeight = height;
+            builtCornersRadius = cornersRadius;
+            builtColor = color;
+            valid = true;
+        }
+        if (recordedAsPicture) {
+            canvas.save();
+            canvas.translate(cursorRect.left, cursorRect.top);
+            canvas.drawPicture(picture);
+            canvas.restore();
+        } else {
+            canvas.drawBitmap(bitmap, cursorRect.left, cursorRect.top, null);
+        }
+    }
+
+    private void recordPicture(int width, int height, float cornersRadius) {
+        releaseBitmap();
+        if (picture == null) {
+            picture = new Picture();
+        }
+        Canvas recordingCanvas = picture.beginRecording(width, height);
+        recordingCanvas.drawRoundRect(localRect, cornersRadius, cornersRadius, paint);
+        picture.endRecording();
+    }
+
+    private void renderBitmap(int width, int height, float cornersRadius) {
+        if (bitmap == null || bitmap.getWidth() != width || bitmap.getHeight() != height) {
+            releaseBitmap();
+            bitmap = Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888);
+        } else {
+            bitmap.eraseColor(Color.TRANSPARENT);
+        }
+        new Canvas(bitmap).drawRoundRect(localRect, cornersRadius, cornersRadius, paint);
+    }
+
+    private void releaseBitmap() {
+        if (bitmap != null) {
+            bitmap.recycle();
+            bitmap = null;
+        }
+    }
+
+}
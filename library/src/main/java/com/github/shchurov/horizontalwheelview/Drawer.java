@@ -1,237 +1,327 @@
 package com.github.shchurov.horizontalwheelview;
 
 import android.graphics.Canvas;
-import android.graphics.Color;
 import android.graphics.Paint;
+import android.graphics.Rect;
 import android.graphics.RectF;
 
-import java.util.Arrays;
+import java.util.ArrayList;
+import java.util.List;
 
 import static java.lang.Math.PI;
-import static java.lang.Math.sin;
 
 class Drawer {
 
-    private static final int DP_CURSOR_CORNERS_RADIUS = 1;
-    private static final int DP_NORMAL_MARK_WIDTH = 1;
-    private static final int DP_ZERO_MARK_WIDTH = 2;
-    private static final int DP_CURSOR_WIDTH = 3;
-    private static final float NORMAL_MARK_RELATIVE_HEIGHT = 0.6f;
-    private static final float ZERO_MARK_RELATIVE_HEIGHT = 0.8f;
-    private static final float CURSOR_RELATIVE_HEIGHT = 1f;
-    private static final float SHADE_RANGE = 0.7f;
-    private static final float SCALE_RANGE = 0.1f;
+    private static final int LOW_POWER_MIN_MARKS_SPACING_FACTOR = 2;
+    static final float CURSOR_RELATIVE_HEIGHT = 1f;
+    private static final float REDRAW_THRESHOLD_PX = 0.25f;
+
+    static final int REDRAW_NONE = 0;
+    static final int REDRAW_MARKS = 1;
+    static final int REDRAW_ALL = 2;
 
     private Paint paint = new Paint(Paint.ANTI_ALIAS_FLAG);
     private HorizontalWheelView view;
-    private int marksCount;
+    private MarksRenderer renderer = new MarksRenderer();
+    private WheelGeometry geometry = renderer.getGeometry();
     private int normalColor;
     private int activeColor;
     private boolean showActiveRange;
-    private float[] gaps;
-    private float[] shades;
-    private float[] scales;
-    private int[] colorSwitches = {-1, -1, -1};
+    private WheelStyle style;
     private int viewportHeight;
-    private int normalMarkWidth;
-    private int normalMarkHeight;
-    private int zeroMarkWidth;
-    private int zeroMarkHeight;
-    private int cursorCornersRadius;
     private RectF cursorRect = new RectF();
-    private int maxVisibleMarksCount;
+    private CursorLayer cursorLayer;
+    private RenderScratch scratch = new RenderScratch();
+    private WheelCoordinator coordinator;
+    private boolean trigTableEnabled = true;
+    private boolean batchDrawingEnabled;
+    private boolean levelOfDetailEnabled;
+    private boolean lowPowerEnabled;
+    private boolean shaderShadingEnabled;
+    private ShadeShaders shadeShaders = new ShadeShaders();
+    private Rect marksBounds = new Rect();
+    private List<MarkDecorator> decorators = new ArrayList<>();
+    private VisibleMarks visibleMarks;
+    private boolean frameValid;
+    private long drawnPositionKey;
+    private long drawnCenterIndex;
+    private int drawnZeroIndex;
+    private int drawnRangeRegion;
 
-    Drawer(HorizontalWheelView view) {
+    Drawer(HorizontalWheelView view, WheelStyle style) {
         this.view = view;
-        initDpSizes();
+        this.style = style;
+        renderer.setCommands(scratch.getCommands());
+        renderer.setMarkWidths(style.normalMarkWidth, style.zeroMarkWidth);
     }
 
-    private void initDpSizes() {
-        normalMarkWidth = convertToPx(DP_NORMAL_MARK_WIDTH);
-        zeroMarkWidth = convertToPx(DP_ZERO_MARK_WIDTH);
-        cursorCornersRadius = convertToPx(DP_CURSOR_CORNERS_RADIUS);
+    void setMarksCount(int marksCount) {
+        if (geometry.getMarksCount() == marksCount) {
+            return;
+        }
+        renderer.setMarksCount(marksCount);
+        frameValid = false;
     }
 
-    private int convertToPx(int dp) {
-        return Utils.convertToPx(dp, view.getResources());
+    void setCoordinator(WheelCoordinator coordinator) {
+        if (this.coordinator == coordinator) {
+            return;
+        }
+        this.coordinator = coordinator;
+        scratch = coordinator != null ? coordinator.getRenderScratch() : new RenderScratch();
+        cursorLayer = null;
+        renderer.setCommands(scratch.getCommands());
+        geometry.setCache(coordinator != null ? coordinator.getGeometryCache() : null);
+        frameValid = false;
     }
 
-    void setMarksCount(int marksCount) {
-        this.marksCount = marksCount;
-        maxVisibleMarksCount = (marksCount / 2) + 1;
-        gaps = new float[maxVisibleMarksCount];
-        shades = new float[maxVisibleMarksCount];
-        scales = new float[maxVisibleMarksCount];
+    void setTrigTableEnabled(boolean enabled) {
+        if (trigTableEnabled != enabled) {
+            trigTableEnabled = enabled;
+            geometry.setTrigTableEnabled(enabled);
+            frameValid = false;
+        }
+    }
+
+    void setBatchDrawingEnabled(boolean enabled) {
+        if (batchDrawingEnabled != enabled) {
+            batchDrawingEnabled = enabled;
+            renderer.setBatchingEnabled(enabled);
+            frameValid = false;
+        }
+    }
+
+    void setLevelOfDetailEnabled(boolean enabled) {
+        if (levelOfDetailEnabled != enabled) {
+            levelOfDetailEnabled = enabled;
+            setupLevelOfDetail();
+        }
+    }
+
+    void setLowPowerEnabled(boolean enabled) {
+        if (lowPowerEnabled != enabled) {
+            lowPowerEnabled = enabled;
+            paint.setAntiAlias(!enabled);
+            setupLevelOfDetail();
+        }
+    }
+
+    private void setupLevelOfDetail() {
+        int minMarksSpacing = style.minMarksSpacing;
+        if (lowPowerEnabled) {
+            minMarksSpacing *= LOW_POWER_MIN_MARKS_SPACING_FACTOR;
+        }
+        renderer.setLevelOfDetail(levelOfDetailEnabled || lowPowerEnabled, minMarksSpacing);
+        frameValid = false;
+    }
+
+    void setShaderShadingEnabled(boolean enabled) {
+        if (shaderShadingEnabled != enabled) {
+            shaderShadingEnabled = enabled;
+            renderer.setPerMarkShadingEnabled(!enabled);
+            frameValid = false;
+        }
+    }
+
+    void addDecorator(MarkDecorator decorator) {
+        if (visibleMarks == null) {
+            visibleMarks = new VisibleMarks();
+            renderer.setVisibleMarks(visibleMarks);
+        }
+        decorators.add(decorator);
+        frameValid = false;
+    }
+
+    void removeDecorator(MarkDecorator decorator) {
+        if (decorators.remove(decorator)) {
+            if (decorators.isEmpty()) {
+                visibleMarks = null;
+                renderer.setVisibleMarks(null);
+            }
+            frameValid = false;
+        }
     }
 
     void setNormalColor(int color) {
-        normalColor = color;
+        if (normalColor != color) {
+            normalColor = color;
+            renderer.setNormalColor(color);
+            shadeShaders.clear();
+            frameValid = false;
+        }
     }
 
     void setActiveColor(int color) {
-        activeColor = color;
+        if (activeColor != color) {
+            activeColor = color;
+            renderer.setActiveColor(color);
+            shadeShaders.clear();
+            frameValid = false;
+        }
     }
 
     void setShowActiveRange(boolean show) {
-        showActiveRange = show;
+        if (showActiveRange != show) {
+            showActiveRange = show;
+            geometry.setShowActiveRange(show);
+            frameValid = false;
+        }
     }
 
     void onSizeChanged() {
         viewportHeight = view.getHeight() - view.getPaddingTop() - view.getPaddingBottom();
-        normalMarkHeight = (int) (viewportHeight * NORMAL_MARK_RELATIVE_HEIGHT);
-        zeroMarkHeight = (int) (viewportHeight * ZERO_MARK_RELATIVE_HEIGHT);
+        renderer.setViewport(view.getWidth(), view.getPaddingLeft(), view.getPaddingTop(), viewportHeight);
+        shadeShaders.setBounds(view.getPaddingLeft(), view.getPaddingLeft() + view.getWidth());
         setupCursorRect();
+        setupMarksBounds();
+        frameValid = false;
     }
 
     private void setupCursorRect() {
         int cursorHeight = (int) (viewportHeight * CURSOR_RELATIVE_HEIGHT);
         cursorRect.top = view.getPaddingTop() + (viewportHeight - cursorHeight) / 2;
         cursorRect.bottom = cursorRect.top + cursorHeight;
-        int cursorWidth = convertToPx(DP_CURSOR_WIDTH);
-        cursorRect.left = (view.getWidth() - cursorWidth) / 2;
-        cursorRect.right = cursorRect.left + cursorWidth;
+        cursorRect.left = (view.getWidth() - style.cursorWidth) / 2;
+        cursorRect.right = cursorRect.left + style.cursorWidth;
+    }
+
+    private void setupMarksBounds() {
+        int zeroMarkHeight = renderer.getZeroMarkHeight();
+        int top = view.getPaddingTop() + (viewportHeight - zeroMarkHeight) / 2;
+        marksBounds.set(0, top - 1, view.getWidth(), top + zeroMarkHeight + 1);
     }
 
     int getMarksCount() {
-        return marksCount;
+        return geometry.getMarksCount();
     }
 
-    void onDraw(Canvas canvas) {
-        double step = 2 * PI / marksCount;
-        double offset = (PI / 2 - view.getRadiansAngle()) % step;
-        if (offset < 0) {
-            offset += step;
-        }
-        setupGaps(step, offset);
-        setupShadesAndScales(step, offset);
-        int zeroIndex = calcZeroIndex(step);
-        setupColorSwitches(step, offset, zeroIndex);
-        drawMarks(canvas, zeroIndex);
-        drawCursor(canvas);
+    int getNormalColor() {
+        return normalColor;
     }
 
-    private void setupGaps(double step, double offset) {
-        gaps[0] = (float) sin(offset / 2);
-        float sum = gaps[0];
-        double angle = offset;
-        int n = 1;
-        while (angle + step <= PI) {
-            gaps[n] = (float) sin(angle + step / 2);
-            sum += gaps[n];
-            angle += step;
-            n++;
-        }
-        float lastGap = (float) sin((PI + angle) / 2);
-        sum += lastGap;
-        if (n != gaps.length) {
-            gaps[gaps.length - 1] = -1;
-        }
-        float k = view.getWidth() / sum;
-        for (int i = 0; i < gaps.length; i++) {
-            if (gaps[i] != -1) {
-                gaps[i] *= k;
-            }
-        }
+    int getActiveColor() {
+        return activeColor;
     }
 
-    private void setupShadesAndScales(double step, double offset) {
-        double angle = offset;
-        for (int i = 0; i < maxVisibleMarksCount; i++) {
-            double sin = sin(angle);
-            shades[i] = (float) (1 - SHADE_RANGE * (1 - sin));
-            scales[i] = (float) (1 - SCALE_RANGE * (1 - sin));
-            angle += step;
-        }
+    boolean isShowActiveRange() {
+        return showActiveRange;
     }
 
-    private int calcZeroIndex(double step) {
-        double twoPi = 2 * PI;
-        double normalizedAngle = (view.getRadiansAngle() + PI / 2 + twoPi) % twoPi;
-        if (normalizedAngle > PI) {
-            return -1;
+    Rect getMarksBounds() {
+        return marksBounds;
+    }
+
+    int getRequiredRedraw(double angle) {
+        if (!frameValid) {
+            return REDRAW_ALL;
+        }
+        double step = geometry.getStep();
+        if (calcPositionKey(angle) != drawnPositionKey
+                || calcCenterIndex(angle, step) != drawnCenterIndex
+                || geometry.calcZeroIndex(angle, step) != drawnZeroIndex
+                || calcRangeRegion(angle) != drawnRangeRegion) {
+            return decorators.isEmpty() ? REDRAW_MARKS : REDRAW_ALL;
         }
-        return (int) ((PI - normalizedAngle) / step);
+        return REDRAW_NONE;
+    }
+
+    private long calcPositionKey(double angle) {
+        return (long) Math.floor(angle * view.getWidth() / 2 / REDRAW_THRESHOLD_PX);
     }
 
-    private void setupColorSwitches(double step, double offset, int zeroIndex) {
+    private long calcCenterIndex(double angle, double step) {
+        return (long) Math.floor(angle / step);
+    }
+
+    private int calcRangeRegion(double angle) {
         if (!showActiveRange) {
-            Arrays.fill(colorSwitches, -1);
-            return;
-        }
-        double angle = view.getRadiansAngle();
-        int afterMiddleIndex = 0;
-        if (offset < PI / 2) {
-            afterMiddleIndex = (int) ((PI / 2 - offset) / step) + 1;
+            return 0;
         }
         if (angle > 3 * PI / 2) {
-            colorSwitches[0] = 0;
-            colorSwitches[1] = afterMiddleIndex;
-            colorSwitches[2] = zeroIndex;
+            return 1;
         } else if (angle >= 0) {
-            colorSwitches[0] = Math.max(0, zeroIndex);
-            colorSwitches[1] = afterMiddleIndex;
-            colorSwitches[2] = -1;
+            return 2;
         } else if (angle < -3 * PI / 2) {
-            colorSwitches[0] = 0;
-            colorSwitches[1] = zeroIndex;
-            colorSwitches[2] = afterMiddleIndex;
-        } else if (angle < 0) {
-            colorSwitches[0] = afterMiddleIndex;
-            colorSwitches[1] = zeroIndex;
-            colorSwitches[2] = -1;
-        }
-    }
-
-    private void drawMarks(Canvas canvas, int zeroIndex) {
-        float x = view.getPaddingLeft();
-        int color = normalColor;
-        int colorPointer = 0;
-        for (int i = 0; i < gaps.length; i++) {
-            if (gaps[i] == -1) {
-                break;
-            }
-            x += gaps[i];
-            while (colorPointer < 3 && i == colorSwitches[colorPointer]) {
-                color = color == normalColor ? activeColor : normalColor;
-                colorPointer++;
-            }
-            if (i != zeroIndex) {
-                drawNormalMark(canvas, x, scales[i], shades[i], color);
-            } else {
-                drawZeroMark(canvas, x, scales[i], shades[i]);
-            }
+            return 3;
         }
+        return 4;
     }
 
-    private void drawNormalMark(Canvas canvas, float x, float scale, float shade, int color) {
-        float height = normalMarkHeight * scale;
-        float top = view.getPaddingTop() + (viewportHeight - height) / 2;
-        float bottom = top + height;
-        paint.setStrokeWidth(normalMarkWidth);
-        paint.setColor(applyShade(color, shade));
-        canvas.drawLine(x, top, x, bottom, paint);
+    private void saveDrawnFrame(double angle, double step, int zeroIndex) {
+        drawnPositionKey = calcPositionKey(angle);
+        drawnCenterIndex = calcCenterIndex(angle, step);
+        drawnZeroIndex = zeroIndex;
+        drawnRangeRegion = calcRangeRegion(angle);
+        frameValid = true;
     }
 
-    private int applyShade(int color, float shade) {
-        int r = (int) (Color.red(color) * shade);
-        int g = (int) (Color.green(color) * shade);
-        int b = (int) (Color.blue(color) * shade);
-        return Color.rgb(r, g, b);
+    void onDraw(Canvas canvas) {
+        double angle = view.getRadiansAngle();
+        drawLines(canvas, renderer.render(angle));
+        for (int i = 0; i < decorators.size(); i++) {
+            decorators.get(i).draw(canvas, visibleMarks);
+        }
+        drawCursor(canvas);
+        saveDrawnFrame(angle, geometry.getStep(), geometry.getZeroIndex());
     }
 
-    private void drawZeroMark(Canvas canvas, float x, float scale, float shade) {
-        float height = zeroMarkHeight * scale;
-        float top = view.getPaddingTop() + (viewportHeight - height) / 2;
-        float bottom = top + height;
-        paint.setStrokeWidth(zeroMarkWidth);
-        paint.setColor(applyShade(activeColor, shade));
-        canvas.drawLine(x, top, x, bottom, paint);
+    private void drawLines(Canvas canvas, LineCommands commands) {
+        float[] points = scratch.obtainPoints(commands.getCapacity() * 4);
+        drawLines(canvas, commands, points, paint, shaderShadingEnabled ? shadeShaders : null);
+    }
+
+    static void drawLines(Canvas canvas, LineCommands commands, float[] points, Paint paint,
+            ShadeShaders shadeShaders) {
+        int start = 0;
+        while (start < commands.size()) {
+            int color = commands.getColor(start);
+            float width = commands.getWidth(start);
+            int end = start + 1;
+            while (end < commands.size() && commands.getColor(end) == color && commands.getWidth(end) == width) {
+                end++;
+            }
+            if (shadeShaders != null) {
+                paint.setColor(0xff000000);
+                paint.setShader(shadeShaders.get(color));
+            } else {
+                paint.setColor(color);
+            }
+            paint.setStrokeWidth(width);
+            if (end - start == 1) {
+                float x = commands.getX(start);
+                canvas.drawLine(x, commands.getTop(start), x, commands.getBottom(start), paint);
+            } else {
+                drawLinesRun(canvas, commands, points, paint, start, end);
+            }
+            start = end;
+        }
+        paint.setShader(null);
+    }
+
+    private static void drawLinesRun(Canvas canvas, LineCommands commands, float[] points, Paint paint,
+            int start, int end) {
+        int p = 0;
+        for (int i = start; i < end; i++) {
+            points[p++] = commands.getX(i);
+            points[p++] = commands.getTop(i);
+            points[p++] = commands.getX(i);
+            points[p++] = commands.getBottom(i);
+        }
+        canvas.drawLines(points, 0, p, paint);
     }
 
     private void drawCursor(Canvas canvas) {
-        paint.setStrokeWidth(0);
-        paint.setColor(activeColor);
-        canvas.drawRoundRect(cursorRect, cursorCornersRadius, cursorCornersRadius, paint);
+        CursorLayer layer;
+        if (coordinator != null) {
+            layer = coordinator.obtainCursorLayer((int) Math.ceil(cursorRect.width()),
+                    (int) Math.ceil(cursorRect.height()), style.cursorCornersRadius, activeColor);
+        } else {
+            if (cursorLayer == null) {
+                cursorLayer = new CursorLayer();
+            }
+            layer = cursorLayer;
+        }
+        layer.draw(canvas, cursorRect, style.cursorCornersRadius, activeColor);
     }
 
 }
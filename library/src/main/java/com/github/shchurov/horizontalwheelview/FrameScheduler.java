@@ -0,0 +1,118 @@
+package com.github.shchurov.horizontalwheelview;
+
+import android.annotation.TargetApi;
+import android.os.Build;
+import android.os.Handler;
+import android.os.Looper;
+import android.view.Choreographer;
+
+abstract class FrameScheduler {
+
+    interface Callback {
+        void onFrame(long frameTimeNanos);
+    }
+
+    final Callback callback;
+    boolean posted;
+
+    FrameScheduler(Callback callback) {
+        this.callback = callback;
+    }
+
+    static FrameScheduler create(Callback callback) {
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN) {
+            return new ChoreographerScheduler(callback);
+        }
+        return new HandlerScheduler(callback, Looper.getMainLooper());
+    }
+
+    static FrameScheduler createForLooper(Callback callback, Looper looper) {
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN) {
+            return new ChoreographerScheduler(callback);
+        }
+        return new HandlerScheduler(callback, looper);
+    }
+
+    static FrameScheduler create(Callback callback, WheelCoordinator coordinator) {
+        if (coordinator != null) {
+            return coordinator.createScheduler(callback);
+        }
+        return create(callback);
+    }
+
+    void postFrame() {
+        if (!posted) {
+            posted = true;
+            schedule();
+        }
+    }
+
+    void cancel() {
+        if (posted) {
+            posted = false;
+            unschedule();
+        }
+    }
+
+    void dispatchFrame(long frameTimeNanos) {
+        posted = false;
+        callback.onFrame(frameTimeNanos);
+    }
+
+    abstract void schedule();
+
+    abstract void unschedule();
+
+    @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
+    private static class ChoreographerScheduler extends FrameScheduler implements Choreographer.FrameCallback {
+
+        ChoreographerScheduler(Callback callback) {
+            super(callback);
+        }
+
+        @Override
+        void schedule() {
+            Choreographer.getInstance().postFrameCallback(this);
+        }
+
+        @Override
+        void unschedule() {
+            Choreographer.getInstance().removeFrameCallback(this);
+        }
+
+        @Override
+        public void doFrame(long frameTimeNanos) {
+            dispatchFrame(frameTimeNanos);
+        }
+
+    }
+
+    private static class HandlerScheduler extends FrameScheduler implements Runnable {
+
+        private static final long FRAME_DELAY_MS = 16;
+
+        private Handler handler;
+
+        HandlerScheduler(Callback callback, Looper looper) {
+            super(callback);
+            handler = new Handler(looper);
+        }
+
+        @Override
+        void schedule() {
+            handler.postDelayed(this, FRAME_DELAY_MS);
+        }
+
+        @Override
+        void unschedule() {
+            handler.removeCallbacks(this);
+        }
+
+        @Override
+        public void run() {
+            dispatchFrame(System.nanoTime());
+        }
+
+    }
+
+}
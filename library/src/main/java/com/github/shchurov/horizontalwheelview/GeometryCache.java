@@ -0,0 +1,27 @@
+package com.github.shchurov.horizontalwheelview;
+
+import java.util.ArrayList;
+import java.util.List;
+
+class GeometryCache {
+
+    private static final int MAX_TABLES_COUNT = 8;
+
+    private List<TrigTable> trigTables = new ArrayList<>();
+
+    TrigTable obtainTrigTable(double step, int size) {
+        for (int i = 0; i < trigTables.size(); i++) {
+            TrigTable table = trigTables.get(i);
+            if (table.matches(step, size)) {
+                return table;
+            }
+        }
+        if (trigTables.size() == MAX_TABLES_COUNT) {
+            trigTables.remove(0);
+        }
+        TrigTable table = new TrigTable(step, size);
+        trigTables.add(table);
+        return table;
+    }
+
+}
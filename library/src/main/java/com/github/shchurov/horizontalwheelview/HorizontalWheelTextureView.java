@@ -0,0 +1,236 @@
+package com.github.shchurov.horizontalwheelview;
+
+import android.content.Context;
+import android.graphics.SurfaceTexture;
+import android.os.SystemClock;
+import android.util.AttributeSet;
+import android.view.MotionEvent;
+import android.view.TextureView;
+
+import static com.github.shchurov.horizontalwheelview.HorizontalWheelView.SCROLL_STATE_IDLE;
+import static java.lang.Math.PI;
+
+public class HorizontalWheelTextureView extends TextureView implements TextureView.SurfaceTextureListener,
+        WheelRenderThread.Listener {
+
+    private WheelStyle style;
+    private WheelRenderThread renderThread;
+    private HorizontalWheelView.Listener listener;
+    private double angle;
+    private int angleSequence;
+    private int scrollState = SCROLL_STATE_IDLE;
+    private int marksCount;
+    private int normalColor;
+    private int activeColor;
+    private boolean showActiveRange;
+    private boolean snapToMarks;
+    private boolean endLock;
+    private boolean onlyPositiveValues;
+    private boolean readOnly;
+    private boolean touching;
+
+    public HorizontalWheelTextureView(Context context, AttributeSet attrs) {
+        super(context, attrs);
+        setOpaque(false);
+        setSurfaceTextureListener(this);
+        style = WheelStyle.obtain(context, attrs);
+        marksCount = style.marksCount;
+        normalColor = style.normalColor;
+        activeColor = style.activeColor;
+        showActiveRange = style.showActiveRange;
+        snapToMarks = style.snapToMarks;
+        endLock = style.endLock;
+        onlyPositiveValues = style.onlyPositiveValues;
+        readOnly = style.readOnly;
+    }
+
+    public void setListener(HorizontalWheelView.Listener listener) {
+        this.listener = listener;
+    }
+
+    public void setRadiansAngle(double radians) {
+        double newAngle = WheelRenderThread.limitAngle(radians, endLock, onlyPositiveValues);
+        angleSequence++;
+        if (renderThread != null) {
+            renderThread.setAngle(newAngle, angleSequence);
+        }
+        onRenderThreadUpdate(newAngle, SCROLL_STATE_IDLE, angleSequence);
+    }
+
+    public double getRadiansAngle() {
+        return angle;
+    }
+
+    public void setMarksCount(int marksCount) {
+        this.marksCount = marksCount;
+        if (renderThread != null) {
+            renderThread.setMarksCount(marksCount);
+        }
+    }
+
+    public void setNormalColor(int color) {
+        normalColor = color;
+        if (renderThread != null) {
+            renderThread.setColors(normalColor, activeColor);
+        }
+    }
+
+    public void setActiveColor(int color) {
+        activeColor = color;
+        if (renderThread != null) {
+            renderThread.setColors(normalColor, activeColor);
+        }
+    }
+
+    public void setShowActiveRange(boolean show) {
+        showActiveRange = show;
+        if (renderThread != null) {
+            renderThread.setShowActiveRange(show);
+        }
+    }
+
+    public void setSnapToMarks(boolean snapToMarks) {
+        this.snapToMarks = snapToMarks;
+        if (renderThread != null) {
+            renderThread.setSnapToMarks(snapToMarks);
+        }
+    }
+
+    public void setEndLock(boolean lock) {
+        endLock = lock;
+        updateAngleLimits();
+    }
+
+    public void setOnlyPositiveValues(boolean onlyPositiveValues) {
+        this.onlyPositiveValues = onlyPositiveValues;
+        updateAngleLimits();
+    }
+
+    private void updateAngleLimits() {
+        if (renderThread != null) {
+            renderThread.setAngleLimits(endLock, onlyPositiveValues);
+        }
+        double limitedAngle = WheelRenderThread.limitAngle(angle, endLock, onlyPositiveValues);
+        if (limitedAngle != angle) {
+            setRadiansAngle(limitedAngle);
+        }
+    }
+
+    public void setReadOnly(boolean readOnly) {
+        this.readOnly = readOnly;
+        if (readOnly && touching && renderThread != null) {
+            touching = false;
+            renderThread.enqueueTouchEvent(TouchEventQueue.ACTION_CANCEL, 0, SystemClock.uptimeMillis());
+            renderThread.wake();
+        }
+    }
+
+    public boolean isReadOnly() {
+        return readOnly;
+    }
+
+    @Override
+    public void onRenderThreadUpdate(double angle, int scrollState, int angleSequence) {
+        if (angleSequence != this.angleSequence) {
+            return;
+        }
+        if (scrollState != SCROLL_STATE_IDLE) {
+            updateScrollState(scrollState);
+        }
+        if (this.angle != angle) {
+            this.angle = angle;
+            if (listener != null) {
+                listener.onRotationChanged(angle);
+            }
+        }
+        if (scrollState == SCROLL_STATE_IDLE) {
+            updateScrollState(scrollState);
+        }
+    }
+
+    private void updateScrollState(int state) {
+        if (scrollState != state) {
+            scrollState = state;
+            if (listener != null) {
+                listener.onScrollStateChanged(state);
+            }
+        }
+    }
+
+    @Override
+    public boolean onTouchEvent(MotionEvent event) {
+        if (readOnly) {
+            return false;
+        }
+        if (renderThread == null) {
+            return true;
+        }
+        switch (event.getActionMasked()) {
+            case MotionEvent.ACTION_DOWN:
+                touching = true;
+                renderThread.enqueueTouchEvent(TouchEventQueue.ACTION_DOWN, event.getX(), event.getEventTime());
+                break;
+            case MotionEvent.ACTION_POINTER_DOWN:
+            case MotionEvent.ACTION_POINTER_UP:
+                renderThread.enqueueTouchEvent(TouchEventQueue.ACTION_REBASE, 0, event.getEventTime());
+                break;
+            case MotionEvent.ACTION_MOVE:
+                int historySize = event.getHistorySize();
+                for (int h = 0; h < historySize; h++) {
+                    renderThread.enqueueTouchEvent(TouchEventQueue.ACTION_MOVE, event.getHistoricalX(h),
+                            event.getHistoricalEventTime(h));
+                }
+                renderThread.enqueueTouchEvent(TouchEventQueue.ACTION_MOVE, event.getX(), event.getEventTime());
+                break;
+            case MotionEvent.ACTION_UP:
+                touching = false;
+                renderThread.enqueueTouchEvent(TouchEventQueue.ACTION_UP, event.getX(), event.getEventTime());
+                break;
+            case MotionEvent.ACTION_CANCEL:
+                touching = false;
+                renderThread.enqueueTouchEvent(TouchEventQueue.ACTION_CANCEL, event.getX(), event.getEventTime());
+                break;
+        }
+        renderThread.wake();
+        return true;
+    }
+
+    @Override
+    public void onSurfaceTextureAvailable(SurfaceTexture surface, int width, int height) {
+        renderThread = new WheelRenderThread(getContext(), style, this);
+        renderThread.startRendering();
+        renderThread.setMarksCount(marksCount);
+        renderThread.setColors(normalColor, activeColor);
+        renderThread.setShowActiveRange(showActiveRange);
+        renderThread.setSnapToMarks(snapToMarks);
+        renderThread.setAngleLimits(endLock, onlyPositiveValues);
+        renderThread.setAngle(angle, angleSequence);
+        renderThread.setSurface(surface, width, height, getPaddingLeft(), getPaddingTop(), getPaddingBottom());
+    }
+
+    @Override
+    public void onSurfaceTextureSizeChanged(SurfaceTexture surface, int width, int height) {
+        renderThread.setSize(width, height, getPaddingLeft(), getPaddingTop(), getPaddingBottom());
+    }
+
+    @Override
+    public boolean onSurfaceTextureDestroyed(SurfaceTexture surface) {
+        renderThread.quitRendering();
+        renderThread = null;
+        touching = false;
+        updateScrollState(SCROLL_STATE_IDLE);
+        return false;
+    }
+
+    @Override
+    public void onSurfaceTextureUpdated(SurfaceTexture surface) {
+    }
+
+    @Override
+    protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
+        int resolvedWidthSpec = Utils.resolveMeasureSpec(widthMeasureSpec, style.defaultWidth);
+        int resolvedHeightSpec = Utils.resolveMeasureSpec(heightMeasureSpec, style.defaultHeight);
+        super.onMeasure(resolvedWidthSpec, resolvedHeightSpec);
+    }
+
+}
@@ -1,79 +1,231 @@
 package com.github.shchurov.horizontalwheelview;
 
+import android.annotation.TargetApi;
 import android.content.Context;
-import android.content.res.TypedArray;
 import android.graphics.Canvas;
+import android.os.Build;
+import android.os.Bundle;
 import android.os.Parcelable;
+import android.os.SystemClock;
 import android.util.AttributeSet;
+import android.view.HapticFeedbackConstants;
+import android.view.KeyEvent;
 import android.view.MotionEvent;
 import android.view.View;
+import android.view.accessibility.AccessibilityNodeInfo;
 
 import static java.lang.Math.PI;
 
 public class HorizontalWheelView extends View {
 
-    private static final int DP_DEFAULT_WIDTH = 200;
-    private static final int DP_DEFAULT_HEIGHT = 32;
-    private static final int DEFAULT_MARKS_COUNT = 40;
-    private static final int DEFAULT_NORMAL_COLOR = 0xffffffff;
-    private static final int DEFAULT_ACTIVE_COLOR = 0xff54acf0;
-    private static final boolean DEFAULT_SHOW_ACTIVE_RANGE = true;
-    private static final boolean DEFAULT_SNAP_TO_MARKS = false;
-    private static final boolean DEFAULT_END_LOCK = false;
-    private static final boolean DEFAULT_ONLY_POSITIVE_VALUES = false;
+    private static final int LOW_POWER_SETTLING_FRAME_RATE = 30;
+    private static final String ACCESSIBILITY_CLASS_NAME = "android.widget.SeekBar";
+    private static final String READ_ONLY_ACCESSIBILITY_CLASS_NAME = "android.widget.ProgressBar";
+    private static final long MIN_HAPTIC_FEEDBACK_INTERVAL_MILLIS = 30;
 
     public static final int SCROLL_STATE_IDLE = 0;
     public static final int SCROLL_STATE_DRAGGING = 1;
     public static final int SCROLL_STATE_SETTLING = 2;
 
+    public static final int POWER_SAVE_OFF = 0;
+    public static final int POWER_SAVE_ON = 1;
+    public static final int POWER_SAVE_AUTO = 2;
+
+    private WheelStyle style;
     private Drawer drawer;
     private TouchHandler touchHandler;
+    private StepInputHandler stepInputHandler;
+    private WheelCoordinator coordinator;
+    private boolean readOnly;
+    private boolean focusableBeforeReadOnly;
     private double angle;
     private boolean onlyPositiveValues;
     private boolean endLock;
-    private Listener listener;
+    private ListenerDispatcher listenerDispatcher = new ListenerDispatcher();
+    private MarkCrossingTracker markCrossingTracker;
+    private TargetAnimation targetAnimation;
+    private AngleHistory angleHistory;
+    private AngleReplay angleReplay;
+    private boolean markHapticFeedbackEnabled;
+    private long lastHapticFeedbackMillis;
+    private StatsRecorder statsRecorder;
+    private ValueModel valueModel;
+    private int powerSaveMode = POWER_SAVE_OFF;
+    private PowerSaveObserver powerSaveObserver;
+    private boolean attachedToWindow;
+    private boolean angleBoundsEnabled;
+    private double minAngle;
+    private double maxAngle;
+    private int value;
 
     public HorizontalWheelView(Context context, AttributeSet attrs) {
         super(context, attrs);
-        drawer = new Drawer(this);
+        style = WheelStyle.obtain(context, attrs);
+        drawer = new Drawer(this, style);
         touchHandler = new TouchHandler(this);
-        readAttrs(attrs);
+        touchHandler.setListener(listenerDispatcher);
+        markCrossingTracker = new MarkCrossingTracker(this);
+        applyStyle();
     }
 
-    private void readAttrs(AttributeSet attrs) {
-        TypedArray a = getContext().obtainStyledAttributes(attrs, R.styleable.HorizontalWheelView);
-        int marksCount = a.getInt(R.styleable.HorizontalWheelView_marksCount, DEFAULT_MARKS_COUNT);
-        drawer.setMarksCount(marksCount);
-        int normalColor = a.getColor(R.styleable.HorizontalWheelView_normalColor, DEFAULT_NORMAL_COLOR);
-        drawer.setNormalColor(normalColor);
-        int activeColor = a.getColor(R.styleable.HorizontalWheelView_activeColor, DEFAULT_ACTIVE_COLOR);
-        drawer.setActiveColor(activeColor);
-        boolean showActiveRange = a.getBoolean(R.styleable.HorizontalWheelView_showActiveRange,
-                DEFAULT_SHOW_ACTIVE_RANGE);
-        drawer.setShowActiveRange(showActiveRange);
-        boolean snapToMarks = a.getBoolean(R.styleable.HorizontalWheelView_snapToMarks, DEFAULT_SNAP_TO_MARKS);
-        touchHandler.setSnapToMarks(snapToMarks);
-        endLock = a.getBoolean(R.styleable.HorizontalWheelView_endLock, DEFAULT_END_LOCK);
-        onlyPositiveValues = a.getBoolean(R.styleable.HorizontalWheelView_onlyPositiveValues,
-                DEFAULT_ONLY_POSITIVE_VALUES);
-        a.recycle();
+    private void applyStyle() {
+        drawer.setMarksCount(style.marksCount);
+        markCrossingTracker.reset(style.marksCount, angle);
+        drawer.setNormalColor(style.normalColor);
+        drawer.setActiveColor(style.activeColor);
+        drawer.setShowActiveRange(style.showActiveRange);
+        touchHandler.setSnapToMarks(style.snapToMarks);
+        endLock = style.endLock;
+        onlyPositiveValues = style.onlyPositiveValues;
+        setFocusable(style.focusable);
+        setReadOnly(style.readOnly);
+    }
+
+    private StepInputHandler obtainStepInputHandler() {
+        if (stepInputHandler == null) {
+            stepInputHandler = new StepInputHandler(this);
+            stepInputHandler.setCoordinator(coordinator);
+        }
+        return stepInputHandler;
     }
 
     public void setListener(Listener listener) {
-        this.listener = listener;
-        touchHandler.setListener(listener);
+        listenerDispatcher.setListener(listener);
+    }
+
+    public void setCoalesceRotationEvents(boolean coalesce) {
+        listenerDispatcher.setCoalesce(coalesce);
+    }
+
+    public void setRotationEventsMinDelta(double radians) {
+        listenerDispatcher.setMinDelta(radians);
+    }
+
+    public void setRotationEventsMaxRate(int eventsPerSecond) {
+        listenerDispatcher.setMaxRate(eventsPerSecond);
     }
 
     public void setRadiansAngle(double radians) {
+        cancelTargetAnimation();
+        cancelAngleReplay();
+        applyAngle(radians);
+    }
+
+    public void animateTo(double radians) {
+        if (touchHandler.getScrollState() != SCROLL_STATE_IDLE) {
+            return;
+        }
+        cancelAngleReplay();
+        if (stepInputHandler != null) {
+            stepInputHandler.cancel();
+        }
+        if (targetAnimation == null) {
+            targetAnimation = new TargetAnimation(this, coordinator);
+        }
+        targetAnimation.animateTo(angle, clampToBounds(radians));
+    }
+
+    private void cancelTargetAnimation() {
+        if (targetAnimation != null) {
+            targetAnimation.cancel();
+        }
+    }
+
+    void applyAngle(double radians) {
+        if (statsRecorder != null) {
+            statsRecorder.onAngleUpdate();
+        }
+        if (angleBoundsEnabled) {
+            radians = Math.max(minAngle, Math.min(maxAngle, radians));
+        }
+        if (valueModel != null) {
+            radians = valueModel.clampAngle(radians);
+        }
         if (!checkEndLock(radians)) {
             angle = radians % (2 * PI);
         }
         if (onlyPositiveValues && angle < 0) {
             angle += 2 * PI;
         }
-        invalidate();
-        if (listener != null) {
-            listener.onRotationChanged(this.angle);
+        invalidateIfRequired();
+        listenerDispatcher.onRotationChanged(this.angle);
+        markCrossingTracker.onAngleChanged(angle);
+        if (valueModel != null) {
+            updateValue();
+        }
+        if (angleHistory != null && !angleReplay.isRunning()) {
+            angleHistory.record(SystemClock.uptimeMillis(), angle);
+        }
+    }
+
+    public void setAngleHistoryCapacity(int samples) {
+        if (angleReplay != null) {
+            angleReplay.cancel();
+        }
+        if (samples <= 0) {
+            angleHistory = null;
+            angleReplay = null;
+        } else if (angleHistory == null || angleHistory.getCapacity() != samples) {
+            angleHistory = new AngleHistory(samples);
+            angleReplay = new AngleReplay(this, angleHistory, coordinator);
+            angleHistory.record(SystemClock.uptimeMillis(), angle);
+        }
+    }
+
+    public void clearAngleHistory() {
+        if (angleHistory != null) {
+            angleReplay.cancel();
+            angleHistory.clear();
+            angleHistory.record(SystemClock.uptimeMillis(), angle);
+        }
+    }
+
+    public boolean undoRotation() {
+        if (angleHistory == null || !angleHistory.canUndo()) {
+            return false;
+        }
+        setRadiansAngle(angleHistory.undo());
+        return true;
+    }
+
+    public boolean redoRotation() {
+        if (angleHistory == null || !angleHistory.canRedo()) {
+            return false;
+        }
+        setRadiansAngle(angleHistory.redo());
+        return true;
+    }
+
+    public boolean replayLastGesture() {
+        if (angleHistory == null || touchHandler.getScrollState() != SCROLL_STATE_IDLE) {
+            return false;
+        }
+        cancelTargetAnimation();
+        return angleReplay.start();
+    }
+
+    private void cancelAngleReplay() {
+        if (angleReplay != null) {
+            angleReplay.cancel();
+        }
+    }
+
+    void onTouchScrollStateChanged(int oldState, int newState) {
+        if (angleHistory == null) {
+            return;
+        }
+        if (oldState == SCROLL_STATE_IDLE) {
+            angleHistory.onGestureStart();
+        } else if (newState == SCROLL_STATE_IDLE) {
+            angleHistory.onGestureEnd(SystemClock.uptimeMillis(), angle);
+        }
+    }
+
+    private void updateValue() {
+        int newValue = valueModel.getValue(valueModel.findNearestIndex(angle));
+        if (newValue != value) {
+            value = newValue;
+            listenerDispatcher.onValueChanged(value);
         }
     }
 
@@ -98,6 +250,51 @@ public class HorizontalWheelView extends View {
         return hit;
     }
 
+    public void setAngleBounds(double minRadians, double maxRadians) {
+        checkAngleBounds(minRadians, maxRadians, onlyPositiveValues);
+        angleBoundsEnabled = true;
+        minAngle = minRadians;
+        maxAngle = maxRadians;
+        if (angle < minAngle || angle > maxAngle) {
+            touchHandler.cancelFling();
+            setRadiansAngle(angle);
+        }
+    }
+
+    private static void checkAngleBounds(double minRadians, double maxRadians, boolean onlyPositiveValues) {
+        if (minRadians > maxRadians) {
+            throw new IllegalArgumentException("minRadians must not be greater than maxRadians");
+        }
+        if (!(minRadians > -2 * PI && maxRadians < 2 * PI)) {
+            throw new IllegalArgumentException("bounds must be within (-2 * PI, 2 * PI)");
+        }
+        if (onlyPositiveValues && minRadians < 0) {
+            throw new IllegalArgumentException("minRadians must not be negative when only positive values are allowed");
+        }
+    }
+
+    public void clearAngleBounds() {
+        angleBoundsEnabled = false;
+    }
+
+    public void setOverscrollBounceEnabled(boolean enabled) {
+        touchHandler.setBounceEnabled(enabled);
+    }
+
+    double clampToBounds(double radians) {
+        if (angleBoundsEnabled) {
+            radians = Math.max(minAngle, Math.min(maxAngle, radians));
+        }
+        if (valueModel != null) {
+            radians = valueModel.clampAngle(radians);
+        }
+        if (endLock) {
+            double min = onlyPositiveValues ? 0 : Math.nextAfter(-2 * PI, Double.POSITIVE_INFINITY);
+            radians = Math.max(min, Math.min(Math.nextAfter(2 * PI, Double.NEGATIVE_INFINITY), radians));
+        }
+        return radians;
+    }
+
     public void setDegreesAngle(double degrees) {
         double radians = degrees * PI / 180;
         setRadiansAngle(radians);
@@ -120,7 +317,73 @@ public class HorizontalWheelView extends View {
         return getRadiansAngle() / (2 * PI);
     }
 
+    public void setValueRange(int minValue, int maxValue, int step) {
+        ValueModel.checkRange(minValue, maxValue, step, getMarksCount(), onlyPositiveValues);
+        if (valueModel == null) {
+            valueModel = new ValueModel();
+        }
+        valueModel.setup(minValue, maxValue, step, getMarksCount());
+        value = valueModel.getValue(valueModel.findNearestIndex(angle));
+        setRadiansAngle(valueModel.getAngle(valueModel.findIndex(value)));
+    }
+
+    public void setDiscreteValuesEnabled(boolean enabled) {
+        if (!enabled) {
+            valueModel = null;
+        } else if (valueModel == null) {
+            setValueRange(0, getMarksCount() - 1, 1);
+        }
+    }
+
+    boolean isDiscreteValuesEnabled() {
+        return valueModel != null;
+    }
+
+    public void setValue(int value) {
+        if (valueModel == null) {
+            throw new IllegalStateException("discrete values are not enabled");
+        }
+        touchHandler.cancelFling();
+        setRadiansAngle(valueModel.getAngle(valueModel.findIndex(value)));
+    }
+
+    public int getValue() {
+        return value;
+    }
+
+    void rotateBySteps(double steps) {
+        touchHandler.cancelFling();
+        double radians = angle + steps * 2 * PI / getMarksCount();
+        if (isSnapEnabled()) {
+            radians = findNearestSnapAngle(radians);
+        }
+        setRadiansAngle(radians);
+    }
+
+    boolean canRotateBySteps(double pendingSteps, double steps) {
+        double step = 2 * PI / getMarksCount();
+        return clampToBounds(angle + (pendingSteps + steps) * step) != clampToBounds(angle + pendingSteps * step);
+    }
+
+    boolean isSnapEnabled() {
+        return touchHandler.shouldSnap();
+    }
+
+    double findNearestSnapAngle(double angle) {
+        if (valueModel != null) {
+            return valueModel.getAngle(valueModel.findNearestIndex(angle));
+        }
+        return WheelGeometry.findNearestMarkAngle(angle, getMarksCount());
+    }
+
     public void setOnlyPositiveValues(boolean onlyPositiveValues) {
+        if (valueModel != null) {
+            ValueModel.checkRange(valueModel.getMinValue(), valueModel.getMaxValue(), valueModel.getStep(),
+                    getMarksCount(), onlyPositiveValues);
+        }
+        if (angleBoundsEnabled) {
+            checkAngleBounds(minAngle, maxAngle, onlyPositiveValues);
+        }
         this.onlyPositiveValues = onlyPositiveValues;
     }
 
@@ -129,61 +392,329 @@ public class HorizontalWheelView extends View {
     }
 
     public void setMarksCount(int marksCount) {
+        if (valueModel != null) {
+            ValueModel.checkRange(valueModel.getMinValue(), valueModel.getMaxValue(), valueModel.getStep(),
+                    marksCount, onlyPositiveValues);
+        }
         drawer.setMarksCount(marksCount);
-        invalidate();
+        markCrossingTracker.reset(marksCount, angle);
+        if (valueModel != null) {
+            valueModel.setMarksCount(marksCount);
+            setRadiansAngle(valueModel.getAngle(valueModel.findIndex(value)));
+        }
+        invalidateIfRequired();
     }
 
     public void setShowActiveRange(boolean show) {
         drawer.setShowActiveRange(show);
-        invalidate();
+        invalidateIfRequired();
     }
 
     public void setNormaColor(int color) {
         drawer.setNormalColor(color);
-        invalidate();
+        invalidateIfRequired();
     }
 
     public void setActiveColor(int color) {
         drawer.setActiveColor(color);
+        invalidateIfRequired();
+    }
+
+    public void setCoordinator(WheelCoordinator coordinator) {
+        drawer.setCoordinator(coordinator);
+        touchHandler.setCoordinator(coordinator);
+        listenerDispatcher.setCoordinator(coordinator);
+        markCrossingTracker.setCoordinator(coordinator);
+        if (targetAnimation != null) {
+            targetAnimation.setCoordinator(coordinator);
+        }
+        if (angleReplay != null) {
+            angleReplay.setCoordinator(coordinator);
+        }
+        if (stepInputHandler != null) {
+            stepInputHandler.setCoordinator(coordinator);
+        }
+        this.coordinator = coordinator;
+        invalidateIfRequired();
+    }
+
+    public void reset() {
+        cancelTargetAnimation();
+        cancelAngleReplay();
+        touchHandler.reset();
+        if (stepInputHandler != null) {
+            stepInputHandler.cancel();
+        }
+        listenerDispatcher.reset();
+        double radians = clampToBounds(0);
+        markCrossingTracker.reset(getMarksCount(), radians);
+        applyAngle(radians);
+        clearAngleHistory();
+        invalidateIfRequired();
+    }
+
+    public void setMarkHapticFeedbackEnabled(boolean enabled) {
+        markHapticFeedbackEnabled = enabled;
+    }
+
+    void onMarksCrossed(int index, int count) {
+        if (markHapticFeedbackEnabled) {
+            performMarkHapticFeedback();
+        }
+        listenerDispatcher.onMarkCrossed(index, count);
+    }
+
+    private void performMarkHapticFeedback() {
+        long now = SystemClock.uptimeMillis();
+        if (now - lastHapticFeedbackMillis < MIN_HAPTIC_FEEDBACK_INTERVAL_MILLIS) {
+            return;
+        }
+        lastHapticFeedbackMillis = now;
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.LOLLIPOP) {
+            performHapticFeedback(HapticFeedbackConstants.CLOCK_TICK);
+        } else {
+            performHapticFeedback(HapticFeedbackConstants.KEYBOARD_TAP);
+        }
+    }
+
+    public void addMarkDecorator(MarkDecorator decorator) {
+        drawer.addDecorator(decorator);
+        invalidate();
+    }
+
+    public void removeMarkDecorator(MarkDecorator decorator) {
+        drawer.removeDecorator(decorator);
         invalidate();
     }
 
+    public void setTrigTableEnabled(boolean enabled) {
+        drawer.setTrigTableEnabled(enabled);
+        invalidateIfRequired();
+    }
+
+    public void setBatchDrawingEnabled(boolean enabled) {
+        drawer.setBatchDrawingEnabled(enabled);
+        invalidateIfRequired();
+    }
+
+    public void setLevelOfDetailEnabled(boolean enabled) {
+        drawer.setLevelOfDetailEnabled(enabled);
+        invalidateIfRequired();
+    }
+
+    public void setShaderShadingEnabled(boolean enabled) {
+        drawer.setShaderShadingEnabled(enabled);
+        invalidateIfRequired();
+    }
+
+    public void setPowerSaveMode(int mode) {
+        if (powerSaveMode == mode) {
+            return;
+        }
+        powerSaveMode = mode;
+        if (mode == POWER_SAVE_AUTO) {
+            if (powerSaveObserver == null) {
+                powerSaveObserver = new PowerSaveObserver(this);
+            }
+            if (attachedToWindow) {
+                powerSaveObserver.register();
+            }
+        } else if (powerSaveObserver != null) {
+            powerSaveObserver.unregister();
+        }
+        updateLowPower();
+    }
+
+    void updateLowPower() {
+        boolean lowPower = powerSaveMode == POWER_SAVE_ON
+                || powerSaveMode == POWER_SAVE_AUTO && PowerSaveObserver.isPowerSaveMode(getContext());
+        drawer.setLowPowerEnabled(lowPower);
+        touchHandler.setSettlingMaxFrameRate(lowPower ? LOW_POWER_SETTLING_FRAME_RATE : 0);
+        invalidateIfRequired();
+    }
+
+    @Override
+    protected void onAttachedToWindow() {
+        super.onAttachedToWindow();
+        attachedToWindow = true;
+        if (statsRecorder != null) {
+            statsRecorder.start(getRefreshRate());
+        }
+        if (powerSaveMode == POWER_SAVE_AUTO) {
+            powerSaveObserver.register();
+            updateLowPower();
+        }
+    }
+
+    @Override
+    protected void onDetachedFromWindow() {
+        super.onDetachedFromWindow();
+        attachedToWindow = false;
+        if (powerSaveObserver != null) {
+            powerSaveObserver.unregister();
+        }
+        if (statsRecorder != null) {
+            statsRecorder.stop();
+        }
+    }
+
+    public void setStatsEnabled(boolean enabled) {
+        if (enabled == (statsRecorder != null)) {
+            return;
+        }
+        if (enabled) {
+            statsRecorder = new StatsRecorder();
+            statsRecorder.start(getRefreshRate());
+        } else {
+            statsRecorder.stop();
+            statsRecorder = null;
+        }
+        touchHandler.setStatsRecorder(statsRecorder);
+        listenerDispatcher.setStatsRecorder(statsRecorder);
+    }
+
+    float getRefreshRate() {
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN_MR1 && getDisplay() != null) {
+            return getDisplay().getRefreshRate();
+        }
+        return 0;
+    }
+
+    public WheelStats getStats() {
+        return statsRecorder != null ? statsRecorder.snapshot() : null;
+    }
+
     public void setSnapToMarks(boolean snapToMarks) {
         touchHandler.setSnapToMarks(snapToMarks);
     }
 
+    public void setScrollAngleMultiplier(double radiansPerPixel) {
+        touchHandler.setScrollAngleMultiplier(radiansPerPixel);
+    }
+
+    public void setFlingAngleMultiplier(double radiansPerPixelPerSecond) {
+        touchHandler.setFlingAngleMultiplier(radiansPerPixelPerSecond);
+    }
+
+    public void setLowLatencyTouchEnabled(boolean enabled) {
+        touchHandler.setLowLatencyEnabled(enabled);
+    }
+
+    public void setTouchPredictionEnabled(boolean enabled) {
+        touchHandler.setPredictionEnabled(enabled);
+    }
+
+    public void setReadOnly(boolean readOnly) {
+        if (readOnly && !this.readOnly) {
+            focusableBeforeReadOnly = isFocusable();
+            setFocusable(false);
+        } else if (!readOnly && this.readOnly) {
+            setFocusable(focusableBeforeReadOnly);
+        }
+        this.readOnly = readOnly;
+        if (readOnly) {
+            touchHandler.cancelFling();
+            if (stepInputHandler != null) {
+                stepInputHandler.cancel();
+            }
+        }
+    }
+
+    public boolean isReadOnly() {
+        return readOnly;
+    }
+
     @Override
     public boolean onTouchEvent(MotionEvent event) {
+        if (readOnly) {
+            return false;
+        }
+        if (event.getActionMasked() == MotionEvent.ACTION_DOWN) {
+            cancelTargetAnimation();
+            cancelAngleReplay();
+            if (angleHistory != null) {
+                angleHistory.setGestureAnchor(event.getEventTime(), angle);
+            }
+        }
         return touchHandler.onTouchEvent(event);
     }
 
     @Override
-    protected void onSizeChanged(int w, int h, int oldw, int oldh) {
-        drawer.onSizeChanged();
+    public boolean onGenericMotionEvent(MotionEvent event) {
+        return (!readOnly && obtainStepInputHandler().onGenericMotionEvent(event))
+                || super.onGenericMotionEvent(event);
     }
 
     @Override
-    protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
-        int resolvedWidthSpec = resolveMeasureSpec(widthMeasureSpec, DP_DEFAULT_WIDTH);
-        int resolvedHeightSpec = resolveMeasureSpec(heightMeasureSpec, DP_DEFAULT_HEIGHT);
-        super.onMeasure(resolvedWidthSpec, resolvedHeightSpec);
+    public boolean onKeyDown(int keyCode, KeyEvent event) {
+        return (!readOnly && obtainStepInputHandler().onKeyDown(keyCode, event)) || super.onKeyDown(keyCode, event);
     }
 
-    private int resolveMeasureSpec(int measureSpec, int dpDefault) {
-        int mode = MeasureSpec.getMode(measureSpec);
-        if (mode == MeasureSpec.EXACTLY) {
-            return measureSpec;
+    @Override
+    public void onInitializeAccessibilityNodeInfo(AccessibilityNodeInfo info) {
+        super.onInitializeAccessibilityNodeInfo(info);
+        if (readOnly) {
+            info.setClassName(READ_ONLY_ACCESSIBILITY_CLASS_NAME);
+        } else {
+            info.setClassName(ACCESSIBILITY_CLASS_NAME);
+            info.setScrollable(true);
+            info.addAction(AccessibilityNodeInfo.ACTION_SCROLL_FORWARD);
+            info.addAction(AccessibilityNodeInfo.ACTION_SCROLL_BACKWARD);
+        }
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.KITKAT) {
+            info.setRangeInfo(createRangeInfo());
+        }
+    }
+
+    @TargetApi(Build.VERSION_CODES.KITKAT)
+    private AccessibilityNodeInfo.RangeInfo createRangeInfo() {
+        if (valueModel != null) {
+            return AccessibilityNodeInfo.RangeInfo.obtain(AccessibilityNodeInfo.RangeInfo.RANGE_TYPE_INT,
+                    valueModel.getMinValue(), valueModel.getMaxValue(), value);
+        }
+        float min = onlyPositiveValues ? 0 : -360;
+        return AccessibilityNodeInfo.RangeInfo.obtain(AccessibilityNodeInfo.RangeInfo.RANGE_TYPE_FLOAT,
+                min, 360, (float) getDegreesAngle());
+    }
+
+    @Override
+    public boolean performAccessibilityAction(int action, Bundle arguments) {
+        if (readOnly) {
+            return super.performAccessibilityAction(action, arguments);
         }
-        int defaultSize = Utils.convertToPx(dpDefault, getResources());
-        if (mode == MeasureSpec.AT_MOST) {
-            defaultSize = Math.min(defaultSize, MeasureSpec.getSize(measureSpec));
+        if (action == AccessibilityNodeInfo.ACTION_SCROLL_FORWARD) {
+            obtainStepInputHandler().addSteps(1, SystemClock.uptimeMillis());
+            return true;
+        } else if (action == AccessibilityNodeInfo.ACTION_SCROLL_BACKWARD) {
+            obtainStepInputHandler().addSteps(-1, SystemClock.uptimeMillis());
+            return true;
         }
-        return MeasureSpec.makeMeasureSpec(defaultSize, MeasureSpec.EXACTLY);
+        return super.performAccessibilityAction(action, arguments);
+    }
+
+    @Override
+    protected void onSizeChanged(int w, int h, int oldw, int oldh) {
+        drawer.onSizeChanged();
+    }
+
+    @Override
+    protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
+        int resolvedWidthSpec = Utils.resolveMeasureSpec(widthMeasureSpec, style.defaultWidth);
+        int resolvedHeightSpec = Utils.resolveMeasureSpec(heightMeasureSpec, style.defaultHeight);
+        super.onMeasure(resolvedWidthSpec, resolvedHeightSpec);
     }
 
     @Override
     protected void onDraw(Canvas canvas) {
+        if (statsRecorder == null) {
+            drawer.onDraw(canvas);
+            return;
+        }
+        StatsRecorder.beginSection("HorizontalWheelView#onDraw");
+        long start = System.nanoTime();
         drawer.onDraw(canvas);
+        statsRecorder.onDraw(System.nanoTime() - start);
+        StatsRecorder.endSection();
     }
 
     @Override
@@ -191,6 +722,44 @@ public class HorizontalWheelView extends View {
         Parcelable superState = super.onSaveInstanceState();
         SavedState ss = new SavedState(superState);
         ss.angle = angle;
+        ss.marksCount = drawer.getMarksCount();
+        ss.normalColor = drawer.getNormalColor();
+        ss.activeColor = drawer.getActiveColor();
+        ss.showActiveRange = drawer.isShowActiveRange();
+        ss.endLock = endLock;
+        ss.onlyPositiveValues = onlyPositiveValues;
+        ss.snapToMarks = touchHandler.isSnapToMarks();
+        ss.readOnly = readOnly;
+        if (valueModel != null) {
+            ss.discreteValues = true;
+            ss.minValue = valueModel.getMinValue();
+            ss.maxValue = valueModel.getMaxValue();
+            ss.valueStep = valueModel.getStep();
+        }
+        if (angleBoundsEnabled) {
+            ss.angleBounds = true;
+            ss.minAngle = minAngle;
+            ss.maxAngle = maxAngle;
+        }
+        ss.overscrollBounce = touchHandler.isBounceEnabled();
+        ss.lowLatencyTouch = touchHandler.isLowLatencyEnabled();
+        ss.touchPrediction = touchHandler.isPredictionEnabled();
+        ss.powerSaveMode = powerSaveMode;
+        SettlingAnimation settlingAnimation = touchHandler.getSettlingAnimation();
+        if (settlingAnimation != null && settlingAnimation.isRunning()) {
+            ss.settling = true;
+            ss.settlingStartAngle = settlingAnimation.getStartAngle();
+            ss.settlingEndAngle = settlingAnimation.getEndAngle();
+            ss.settlingDurationNanos = settlingAnimation.getDurationNanos();
+            ss.settlingExponent = settlingAnimation.getExponent();
+            ss.settlingElapsedNanos = settlingAnimation.getElapsedNanos();
+            ss.settlingStopAngle = settlingAnimation.getStopAngle();
+            if (touchHandler.isBouncePending()) {
+                ss.bouncePending = true;
+                ss.bounceEndAngle = touchHandler.getBounceEndAngle();
+                ss.bounceVelocity = touchHandler.getBounceVelocity();
+            }
+        }
         return ss;
     }
 
@@ -198,8 +767,57 @@ public class HorizontalWheelView extends View {
     public void onRestoreInstanceState(Parcelable state) {
         SavedState ss = (SavedState) state;
         super.onRestoreInstanceState(ss.getSuperState());
+        if (!ss.compatible) {
+            return;
+        }
+        drawer.setMarksCount(ss.marksCount);
+        drawer.setNormalColor(ss.normalColor);
+        drawer.setActiveColor(ss.activeColor);
+        drawer.setShowActiveRange(ss.showActiveRange);
+        endLock = ss.endLock;
+        onlyPositiveValues = ss.onlyPositiveValues;
+        touchHandler.setSnapToMarks(ss.snapToMarks);
+        setReadOnly(ss.readOnly);
+        if (ss.discreteValues) {
+            if (valueModel == null) {
+                valueModel = new ValueModel();
+            }
+            valueModel.setup(ss.minValue, ss.maxValue, ss.valueStep, ss.marksCount);
+        } else {
+            valueModel = null;
+        }
+        angleBoundsEnabled = ss.angleBounds;
+        minAngle = ss.minAngle;
+        maxAngle = ss.maxAngle;
+        touchHandler.setBounceEnabled(ss.overscrollBounce);
+        touchHandler.setLowLatencyEnabled(ss.lowLatencyTouch);
+        touchHandler.setPredictionEnabled(ss.touchPrediction);
+        setPowerSaveMode(ss.powerSaveMode);
         angle = ss.angle;
-        invalidate();
+        markCrossingTracker.reset(ss.marksCount, angle);
+        invalidateIfRequired();
+        if (valueModel != null) {
+            updateValue();
+        }
+        if (ss.settling) {
+            touchHandler.resumeSettling(ss.settlingStartAngle, ss.settlingEndAngle, ss.settlingDurationNanos,
+                    ss.settlingExponent, ss.settlingElapsedNanos, ss.settlingStopAngle);
+            if (ss.bouncePending) {
+                touchHandler.resumeBounce(ss.bounceEndAngle, ss.bounceVelocity);
+            }
+        }
+    }
+
+    private void invalidateIfRequired() {
+        int redraw = drawer.getRequiredRedraw(angle);
+        if (statsRecorder != null && redraw != Drawer.REDRAW_NONE) {
+            statsRecorder.onInvalidate();
+        }
+        if (redraw == Drawer.REDRAW_ALL) {
+            invalidate();
+        } else if (redraw == Drawer.REDRAW_MARKS) {
+            invalidate(drawer.getMarksBounds());
+        }
     }
 
     int getMarksCount() {
@@ -212,6 +830,12 @@ public class HorizontalWheelView extends View {
 
         public void onScrollStateChanged(int state) {
         }
+
+        public void onValueChanged(int value) {
+        }
+
+        public void onMarkCrossed(int index, int count) {
+        }
     }
 
 }
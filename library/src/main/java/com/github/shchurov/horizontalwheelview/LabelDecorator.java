@@ -0,0 +1,152 @@
+package com.github.shchurov.horizontalwheelview;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.Paint;
+import android.graphics.Rect;
+import android.graphics.RectF;
+import android.text.TextPaint;
+import android.util.SparseIntArray;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class LabelDecorator implements MarkDecorator {
+
+    private static final int MIN_ATLAS_WIDTH = 256;
+    private static final int ENTRY_PADDING = 1;
+
+    private TextPaint textPaint = new TextPaint(Paint.ANTI_ALIAS_FLAG);
+    private Paint bitmapPaint = new Paint(Paint.FILTER_BITMAP_FLAG);
+    private List<Entry> entries = new ArrayList<>();
+    private SparseIntArray entryByMark = new SparseIntArray();
+    private Bitmap atlas;
+    private boolean atlasValid;
+    private RectF dst = new RectF();
+
+    public LabelDecorator(float textSize, int textColor) {
+        textPaint.setTextSize(textSize);
+        textPaint.setColor(textColor);
+    }
+
+    public void setLabel(int markIndex, CharSequence text) {
+        putEntry(new Entry(markIndex, text.toString(), null));
+    }
+
+    public void setIcon(int markIndex, Bitmap icon) {
+        putEntry(new Entry(markIndex, null, icon));
+    }
+
+    public void clear() {
+        entries.clear();
+        entryByMark.clear();
+        atlasValid = false;
+    }
+
+    private void putEntry(Entry entry) {
+        int index = entryByMark.get(entry.markIndex, -1);
+        if (index == -1) {
+            entryByMark.put(entry.markIndex, entries.size());
+            entries.add(entry);
+        } else {
+            entries.set(index, entry);
+        }
+        atlasValid = false;
+    }
+
+    @Override
+    public void draw(Canvas canvas, VisibleMarks marks) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        if (!atlasValid) {
+            buildAtlas();
+        }
+        for (int i = 0; i < marks.getCount(); i++) {
+            int index = entryByMark.get(marks.getMarkIndex(i), -1);
+            if (index == -1) {
+                continue;
+            }
+            Rect src = entries.get(index).src;
+            float scale = marks.getScale(i);
+            float width = src.width() * scale;
+            dst.left = marks.getX(i) - width / 2;
+            dst.right = dst.left + width;
+            dst.bottom = marks.getBottom();
+            dst.top = dst.bottom - src.height() * scale;
+            bitmapPaint.setAlpha(Math.round(255 * marks.getShade(i)));
+            canvas.drawBitmap(atlas, src, dst, bitmapPaint);
+        }
+    }
+
+    private void buildAtlas() {
+        Paint.FontMetrics metrics = textPaint.getFontMetrics();
+        int textHeight = (int) Math.ceil(metrics.descent - metrics.ascent);
+        int atlasWidth = MIN_ATLAS_WIDTH;
+        for (Entry entry : entries) {
+            entry.measure(textPaint, textHeight);
+            atlasWidth = Math.max(atlasWidth, entry.width + 2 * ENTRY_PADDING);
+        }
+        int x = 0;
+        int y = 0;
+        int rowHeight = 0;
+        for (Entry entry : entries) {
+            if (x + entry.width + 2 * ENTRY_PADDING > atlasWidth) {
+                x = 0;
+                y += rowHeight;
+                rowHeight = 0;
+            }
+            entry.src.set(x + ENTRY_PADDING, y + ENTRY_PADDING, x + ENTRY_PADDING + entry.width,
+                    y + ENTRY_PADDING + entry.height);
+            x += entry.width + 2 * ENTRY_PADDING;
+            rowHeight = Math.max(rowHeight, entry.height + 2 * ENTRY_PADDING);
+        }
+        int atlasHeight = Math.max(1, y + rowHeight);
+        if (atlas != null && atlas.getWidth() >= atlasWidth && atlas.getHeight() >= atlasHeight) {
+            atlas.eraseColor(Color.TRANSPARENT);
+        } else {
+            if (atlas != null) {
+                atlas.recycle();
+            }
+            atlas = Bitmap.createBitmap(atlasWidth, atlasHeight, Bitmap.Config.ARGB_8888);
+        }
+        Canvas atlasCanvas = new Canvas(atlas);
+        for (Entry entry : entries) {
+            if (entry.icon != null) {
+                atlasCanvas.drawBitmap(entry.icon, null, new RectF(entry.src), null);
+            } else {
+                atlasCanvas.drawText(entry.text, entry.src.left, entry.src.top - metrics.ascent, textPaint);
+            }
+        }
+        atlasValid = true;
+    }
+
+    private static class Entry {
+
+        final int markIndex;
+        final String text;
+        final Bitmap icon;
+        final Rect src = new Rect();
+        int width;
+        int height;
+
+        Entry(int markIndex, String text, Bitmap icon) {
+            this.markIndex = markIndex;
+            this.text = text;
+            this.icon = icon;
+        }
+
+        void measure(TextPaint paint, int textHeight) {
+            if (icon != null) {
+                width = icon.getWidth();
+                height = icon.getHeight();
+            } else {
+                width = (int) Math.ceil(paint.measureText(text));
+                height = textHeight;
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,127 @@
+package com.github.shchurov.horizontalwheelview;
+
+import java.util.Arrays;
+
+class LineCommands {
+
+    private float[] xs = new float[0];
+    private float[] tops = new float[0];
+    private float[] bottoms = new float[0];
+    private float[] widths = new float[0];
+    private int[] colors = new int[0];
+    private int[] keys = new int[0];
+    private float[] sortedXs = new float[0];
+    private float[] sortedTops = new float[0];
+    private float[] sortedBottoms = new float[0];
+    private float[] sortedWidths = new float[0];
+    private int[] sortedColors = new int[0];
+    private int[] sortedKeys = new int[0];
+    private int[] keyStarts = new int[0];
+    private int size;
+
+    void setCapacity(int capacity) {
+        xs = new float[capacity];
+        tops = new float[capacity];
+        bottoms = new float[capacity];
+        widths = new float[capacity];
+        colors = new int[capacity];
+        keys = new int[capacity];
+        sortedXs = new float[capacity];
+        sortedTops = new float[capacity];
+        sortedBottoms = new float[capacity];
+        sortedWidths = new float[capacity];
+        sortedColors = new int[capacity];
+        sortedKeys = new int[capacity];
+        size = 0;
+    }
+
+    int getCapacity() {
+        return xs.length;
+    }
+
+    void clear() {
+        size = 0;
+    }
+
+    void add(float x, float top, float bottom, float width, int color, int key) {
+        xs[size] = x;
+        tops[size] = top;
+        bottoms[size] = bottom;
+        widths[size] = width;
+        colors[size] = color;
+        keys[size] = key;
+        size++;
+    }
+
+    void sortByKeys(int keysCount) {
+        if (keyStarts.length != keysCount) {
+            keyStarts = new int[keysCount];
+        }
+        Arrays.fill(keyStarts, 0);
+        for (int i = 0; i < size; i++) {
+            keyStarts[keys[i]]++;
+        }
+        int start = 0;
+        for (int k = 0; k < keysCount; k++) {
+            int count = keyStarts[k];
+            keyStarts[k] = start;
+            start += count;
+        }
+        for (int i = 0; i < size; i++) {
+            int j = keyStarts[keys[i]]++;
+            sortedXs[j] = xs[i];
+            sortedTops[j] = tops[i];
+            sortedBottoms[j] = bottoms[i];
+            sortedWidths[j] = widths[i];
+            sortedColors[j] = colors[i];
+            sortedKeys[j] = keys[i];
+        }
+        swapBuffers();
+    }
+
+    private void swapBuffers() {
+        float[] f = xs;
+        xs = sortedXs;
+        sortedXs = f;
+        f = tops;
+        tops = sortedTops;
+        sortedTops = f;
+        f = bottoms;
+        bottoms = sortedBottoms;
+        sortedBottoms = f;
+        f = widths;
+        widths = sortedWidths;
+        sortedWidths = f;
+        int[] n = colors;
+        colors = sortedColors;
+        sortedColors = n;
+        n = keys;
+        keys = sortedKeys;
+        sortedKeys = n;
+    }
+
+    int size() {
+        return size;
+    }
+
+    float getX(int index) {
+        return xs[index];
+    }
+
+    float getTop(int index) {
+        return tops[index];
+    }
+
+    float getBottom(int index) {
+        return bottoms[index];
+    }
+
+    float getWidth(int index) {
+        return widths[index];
+    }
+
+    int getColor(int index) {
+        return colors[index];
+    }
+
+}
@@ -0,0 +1,59 @@
+package com.github.shchurov.horizontalwheelview;
+
+import java.util.Arrays;
+
+class LineRasterizer {
+
+    private int width;
+    private int height;
+    private int[] pixels = new int[0];
+
+    void setSize(int width, int height) {
+        this.width = width;
+        this.height = height;
+        if (pixels.length != width * height) {
+            pixels = new int[width * height];
+        }
+    }
+
+    int[] getPixels() {
+        return pixels;
+    }
+
+    void clear(int color) {
+        Arrays.fill(pixels, color);
+    }
+
+    void draw(LineCommands commands) {
+        for (int i = 0; i < commands.size(); i++) {
+            float halfWidth = commands.getWidth(i) / 2;
+            fillRect(commands.getX(i) - halfWidth, commands.getTop(i), commands.getX(i) + halfWidth,
+                    commands.getBottom(i), commands.getColor(i));
+        }
+    }
+
+    private void fillRect(float left, float top, float right, float bottom, int color) {
+        int fromX = Math.max(0, (int) Math.floor(left));
+        int toX = Math.min(width, (int) Math.ceil(right));
+        int fromY = Math.max(0, (int) Math.floor(top));
+        int toY = Math.min(height, (int) Math.ceil(bottom));
+        for (int py = fromY; py < toY; py++) {
+            float coverageY = Math.min(bottom, py + 1) - Math.max(top, py);
+            for (int px = fromX; px < toX; px++) {
+                float coverageX = Math.min(right, px + 1) - Math.max(left, px);
+                int index = py * width + px;
+                pixels[index] = blend(pixels[index], color, coverageX * coverageY);
+            }
+        }
+    }
+
+    private static int blend(int dst, int src, float coverage) {
+        float a = (src >>> 24) / 255f * coverage;
+        int outA = Math.round(a * 255 + (dst >>> 24) * (1 - a));
+        int outR = Math.round(((src >> 16) & 0xff) * a + ((dst >> 16) & 0xff) * (1 - a));
+        int outG = Math.round(((src >> 8) & 0xff) * a + ((dst >> 8) & 0xff) * (1 - a));
+        int outB = Math.round((src & 0xff) * a + (dst & 0xff) * (1 - a));
+        return (outA << 24) | (outR << 16) | (outG << 8) | outB;
+    }
+
+}
@@ -0,0 +1,151 @@
+package com.github.shchurov.horizontalwheelview;
+
+import static com.github.shchurov.horizontalwheelview.HorizontalWheelView.SCROLL_STATE_IDLE;
+
+class ListenerDispatcher extends HorizontalWheelView.Listener implements FrameScheduler.Callback {
+
+    private static final long NANOS_PER_SECOND = 1000000000;
+
+    private HorizontalWheelView.Listener listener;
+    private FrameScheduler scheduler = FrameScheduler.create(this);
+    private boolean coalesce;
+    private double minDelta;
+    private long minIntervalNanos;
+    private int scrollState = SCROLL_STATE_IDLE;
+    private boolean pending;
+    private double pendingRadians;
+    private boolean delivered;
+    private double deliveredRadians;
+    private long deliveredTimeNanos;
+    private StatsRecorder statsRecorder;
+
+    void setListener(HorizontalWheelView.Listener listener) {
+        this.listener = listener;
+        pending = false;
+        delivered = false;
+        scheduler.cancel();
+    }
+
+    void setStatsRecorder(StatsRecorder statsRecorder) {
+        this.statsRecorder = statsRecorder;
+    }
+
+    void setCoordinator(WheelCoordinator coordinator) {
+        boolean posted = scheduler.posted;
+        scheduler.cancel();
+        scheduler = FrameScheduler.create(this, coordinator);
+        if (posted) {
+            scheduler.postFrame();
+        }
+    }
+
+    void reset() {
+        pending = false;
+        delivered = false;
+        scrollState = SCROLL_STATE_IDLE;
+        scheduler.cancel();
+    }
+
+    void setCoalesce(boolean coalesce) {
+        this.coalesce = coalesce;
+    }
+
+    void setMinDelta(double radians) {
+        minDelta = radians;
+    }
+
+    void setMaxRate(int eventsPerSecond) {
+        minIntervalNanos = eventsPerSecond > 0 ? NANOS_PER_SECOND / eventsPerSecond : 0;
+    }
+
+    private boolean isThrottled() {
+        return coalesce || minDelta > 0 || minIntervalNanos > 0;
+    }
+
+    @Override
+    public void onRotationChanged(double radians) {
+        if (listener == null) {
+            return;
+        }
+        if (!isThrottled()) {
+            deliver(radians, System.nanoTime());
+            return;
+        }
+        pending = true;
+        pendingRadians = radians;
+        if (coalesce) {
+            scheduler.postFrame();
+        } else {
+            tryDeliverPending(System.nanoTime());
+        }
+    }
+
+    @Override
+    public void onValueChanged(int value) {
+        if (listener != null) {
+            listener.onValueChanged(value);
+        }
+    }
+
+    @Override
+    public void onMarkCrossed(int index, int count) {
+        if (listener != null) {
+            listener.onMarkCrossed(index, count);
+        }
+    }
+
+    @Override
+    public void onScrollStateChanged(int state) {
+        scrollState = state;
+        if (statsRecorder != null) {
+            statsRecorder.onScrollStateChanged(state);
+        }
+        if (listener == null) {
+            return;
+        }
+        if (state == SCROLL_STATE_IDLE && pending) {
+            scheduler.cancel();
+            deliver(pendingRadians, System.nanoTime());
+        }
+        listener.onScrollStateChanged(state);
+    }
+
+    @Override
+    public void onFrame(long frameTimeNanos) {
+        tryDeliverPending(frameTimeNanos);
+    }
+
+    private void tryDeliverPending(long timeNanos) {
+        if (!pending) {
+            return;
+        }
+        if (scrollState != SCROLL_STATE_IDLE && delivered) {
+            if (Math.abs(pendingRadians - deliveredRadians) < minDelta) {
+                return;
+            }
+            if (timeNanos - deliveredTimeNanos < minIntervalNanos) {
+                scheduler.postFrame();
+                return;
+            }
+        }
+        deliver(pendingRadians, timeNanos);
+    }
+
+    private void deliver(double radians, long timeNanos) {
+        pending = false;
+        delivered = true;
+        deliveredRadians = radians;
+        deliveredTimeNanos = timeNanos;
+        if (statsRecorder == null) {
+            listener.onRotationChanged(radians);
+            return;
+        }
+        StatsRecorder.beginSection("HorizontalWheelView.Listener#onRotationChanged");
+        try {
+            listener.onRotationChanged(radians);
+        } finally {
+            StatsRecorder.endSection();
+        }
+    }
+
+}
@@ -0,0 +1,74 @@
+package com.github.shchurov.horizontalwheelview;
+
+import static java.lang.Math.PI;
+
+class MarkCrossingTracker implements FrameScheduler.Callback {
+
+    private static final double POSITION_EPSILON = 1e-6;
+
+    private HorizontalWheelView view;
+    private FrameScheduler scheduler;
+    private int marksCount;
+    private double step;
+    private long markPosition;
+    private int pendingCount;
+    private int pendingIndex;
+
+    MarkCrossingTracker(HorizontalWheelView view) {
+        this.view = view;
+        scheduler = FrameScheduler.create(this);
+    }
+
+    void setCoordinator(WheelCoordinator coordinator) {
+        boolean posted = scheduler.posted;
+        scheduler.cancel();
+        scheduler = FrameScheduler.create(this, coordinator);
+        if (posted) {
+            scheduler.postFrame();
+        }
+    }
+
+    void reset(int marksCount, double angle) {
+        this.marksCount = marksCount;
+        step = 2 * PI / marksCount;
+        markPosition = calcPosition(angle);
+        pendingCount = 0;
+        scheduler.cancel();
+    }
+
+    void onAngleChanged(double angle) {
+        long position = calcPosition(angle);
+        long delta = position - markPosition;
+        if (delta == 0) {
+            return;
+        }
+        markPosition = position;
+        delta %= marksCount;
+        if (delta > marksCount / 2) {
+            delta -= marksCount;
+        } else if (delta < -marksCount / 2) {
+            delta += marksCount;
+        }
+        if (delta == 0) {
+            return;
+        }
+        pendingCount += delta;
+        int index = (int) (Math.round(angle / step) % marksCount);
+        pendingIndex = index < 0 ? index + marksCount : index;
+        scheduler.postFrame();
+    }
+
+    private long calcPosition(double angle) {
+        return (long) Math.floor(angle / step + POSITION_EPSILON);
+    }
+
+    @Override
+    public void onFrame(long frameTimeNanos) {
+        if (pendingCount != 0) {
+            int count = pendingCount;
+            pendingCount = 0;
+            view.onMarksCrossed(pendingIndex, count);
+        }
+    }
+
+}
@@ -0,0 +1,9 @@
+package com.github.shchurov.horizontalwheelview;
+
+import android.graphics.Canvas;
+
+public interface MarkDecorator {
+
+    void draw(Canvas canvas, VisibleMarks marks);
+
+}
@@ -0,0 +1,164 @@
+package com.github.shchurov.horizontalwheelview;
+
+import static com.github.shchurov.horizontalwheelview.WheelGeometry.SHADE_RANGE;
+
+class MarksRenderer {
+
+    private static final float NORMAL_MARK_RELATIVE_HEIGHT = 0.6f;
+    private static final float ZERO_MARK_RELATIVE_HEIGHT = 0.8f;
+    private static final int SHADE_LEVELS_COUNT = 16;
+    private static final int NORMAL_MARKS_KEY = 0;
+    private static final int ACTIVE_MARKS_KEY = SHADE_LEVELS_COUNT;
+    private static final int ZERO_MARK_KEY = 2 * SHADE_LEVELS_COUNT;
+    private static final int MINOR_NORMAL_MARKS_KEY = 3 * SHADE_LEVELS_COUNT;
+    private static final int MINOR_ACTIVE_MARKS_KEY = 4 * SHADE_LEVELS_COUNT;
+    private static final int KEYS_COUNT = 5 * SHADE_LEVELS_COUNT;
+
+    private WheelGeometry geometry = new WheelGeometry();
+    private LineCommands commands = new LineCommands();
+    private VisibleMarks visibleMarks;
+    private int normalColor;
+    private int activeColor;
+    private boolean batchingEnabled;
+    private boolean perMarkShadingEnabled = true;
+    private int left;
+    private int top;
+    private int viewportHeight;
+    private int normalMarkWidth;
+    private int normalMarkHeight;
+    private int zeroMarkWidth;
+    private int zeroMarkHeight;
+
+    WheelGeometry getGeometry() {
+        return geometry;
+    }
+
+    void setCommands(LineCommands commands) {
+        this.commands = commands;
+        ensureCapacity();
+    }
+
+    void setVisibleMarks(VisibleMarks visibleMarks) {
+        this.visibleMarks = visibleMarks;
+        ensureCapacity();
+    }
+
+    void setMarksCount(int marksCount) {
+        geometry.setMarksCount(marksCount);
+        ensureCapacity();
+    }
+
+    void setLevelOfDetail(boolean enabled, float minMarksSpacing) {
+        geometry.setLevelOfDetail(enabled, minMarksSpacing);
+        ensureCapacity();
+    }
+
+    private void ensureCapacity() {
+        if (commands.getCapacity() < geometry.getMaxVisibleMarksCount()) {
+            commands.setCapacity(geometry.getMaxVisibleMarksCount());
+        }
+        if (visibleMarks != null && visibleMarks.getCapacity() != geometry.getMaxVisibleMarksCount()) {
+            visibleMarks.setCapacity(geometry.getMaxVisibleMarksCount());
+        }
+    }
+
+    void setNormalColor(int color) {
+        normalColor = color;
+    }
+
+    void setActiveColor(int color) {
+        activeColor = color;
+    }
+
+    void setBatchingEnabled(boolean enabled) {
+        batchingEnabled = enabled;
+    }
+
+    void setPerMarkShadingEnabled(boolean enabled) {
+        perMarkShadingEnabled = enabled;
+    }
+
+    void setMarkWidths(int normalMarkWidth, int zeroMarkWidth) {
+        this.normalMarkWidth = normalMarkWidth;
+        this.zeroMarkWidth = zeroMarkWidth;
+    }
+
+    void setViewport(int width, int left, int top, int viewportHeight) {
+        this.left = left;
+        this.top = top;
+        this.viewportHeight = viewportHeight;
+        normalMarkHeight = (int) (viewportHeight * NORMAL_MARK_RELATIVE_HEIGHT);
+        zeroMarkHeight = (int) (viewportHeight * ZERO_MARK_RELATIVE_HEIGHT);
+        geometry.setWidth(width);
+        ensureCapacity();
+    }
+
+    int getZeroMarkHeight() {
+        return zeroMarkHeight;
+    }
+
+    LineCommands render(double angle) {
+        geometry.update(angle);
+        int minorTierAlpha = Math.round(255 * geometry.getMinorTierFade());
+        float[] gaps = geometry.getGaps();
+        float[] shades = geometry.getShades();
+        float[] scales = geometry.getScales();
+        int[] colorSwitches = geometry.getColorSwitches();
+        int zeroIndex = geometry.getZeroIndex();
+        commands.clear();
+        if (visibleMarks != null) {
+            visibleMarks.clear(geometry.getMarksCount(), top, top + viewportHeight);
+        }
+        float x = left;
+        int color = normalColor;
+        int colorPointer = 0;
+        for (int i = 0; i < gaps.length; i++) {
+            if (gaps[i] == -1) {
+                break;
+            }
+            x += gaps[i];
+            while (colorPointer < 3 && i == colorSwitches[colorPointer]) {
+                color = color == normalColor ? activeColor : normalColor;
+                colorPointer++;
+            }
+            if (visibleMarks != null) {
+                visibleMarks.add(geometry.getMarkIndex(i), x, scales[i], shades[i]);
+            }
+            if (i == zeroIndex) {
+                addMark(x, zeroMarkHeight * scales[i], zeroMarkWidth, activeColor, 255, shades[i], ZERO_MARK_KEY);
+            } else if (geometry.isMinorTierMark(i)) {
+                int key = color == normalColor ? MINOR_NORMAL_MARKS_KEY : MINOR_ACTIVE_MARKS_KEY;
+                addMark(x, normalMarkHeight * scales[i], normalMarkWidth, color, minorTierAlpha, shades[i], key);
+            } else {
+                int key = color == normalColor ? NORMAL_MARKS_KEY : ACTIVE_MARKS_KEY;
+                addMark(x, normalMarkHeight * scales[i], normalMarkWidth, color, 255, shades[i], key);
+            }
+        }
+        if (batchingEnabled) {
+            commands.sortByKeys(KEYS_COUNT);
+        }
+        return commands;
+    }
+
+    private void addMark(float x, float height, int markWidth, int color, int alpha, float shade, int key) {
+        if (alpha == 0) {
+            return;
+        }
+        float markTop = top + (viewportHeight - height) / 2;
+        int shadedColor = color;
+        if (perMarkShadingEnabled) {
+            if (batchingEnabled) {
+                int level = Math.round((shade - 1 + SHADE_RANGE) / SHADE_RANGE * (SHADE_LEVELS_COUNT - 1));
+                level = Math.max(0, Math.min(SHADE_LEVELS_COUNT - 1, level));
+                shade = 1 - SHADE_RANGE + SHADE_RANGE * level / (SHADE_LEVELS_COUNT - 1);
+                key += level;
+            }
+            shadedColor = WheelGeometry.applyShade(color, shade);
+        }
+        if (alpha != 255) {
+            shadedColor = shadedColor & 0x00ffffff | ((shadedColor >>> 24) * alpha / 255) << 24;
+        }
+        commands.add(x, markTop, markTop + height, markWidth, shadedColor, key);
+    }
+
+}
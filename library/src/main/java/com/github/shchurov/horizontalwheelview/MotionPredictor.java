@@ -0,0 +1,85 @@
+package com.github.shchurov.horizontalwheelview;
+
+class MotionPredictor {
+
+    private static final int CAPACITY = 16;
+    private static final long WINDOW_MILLIS = 50;
+    private static final int MIN_SAMPLES_COUNT = 3;
+
+    private long[] times = new long[CAPACITY];
+    private float[] positions = new float[CAPACITY];
+    private int head;
+    private int count;
+    private int windowCount;
+
+    void reset() {
+        head = 0;
+        count = 0;
+    }
+
+    void addSample(long timeMillis, float position) {
+        if (count > 0 && timeMillis < times[(head + CAPACITY - 1) % CAPACITY]) {
+            reset();
+        }
+        times[head] = timeMillis;
+        positions[head] = position;
+        head = (head + 1) % CAPACITY;
+        count = Math.min(count + 1, CAPACITY);
+    }
+
+    float predict(float horizonMillis) {
+        double slope = calcSlope();
+        if (slope == 0) {
+            return 0;
+        }
+        int newest = (head + CAPACITY - 1) % CAPACITY;
+        float prediction = (float) (slope * horizonMillis);
+        float limit = Math.abs(positions[newest] - positions[(newest + CAPACITY - windowCount + 1) % CAPACITY]);
+        return Math.max(-limit, Math.min(limit, prediction));
+    }
+
+    float getVelocity() {
+        return (float) calcSlope();
+    }
+
+    private double calcSlope() {
+        windowCount = 0;
+        if (count < MIN_SAMPLES_COUNT) {
+            return 0;
+        }
+        int newest = (head + CAPACITY - 1) % CAPACITY;
+        long newestTime = times[newest];
+        int n = 0;
+        double sumT = 0;
+        double sumP = 0;
+        for (int i = 0; i < count; i++) {
+            int index = (newest + CAPACITY - i) % CAPACITY;
+            long age = newestTime - times[index];
+            if (age > WINDOW_MILLIS) {
+                break;
+            }
+            sumT -= age;
+            sumP += positions[index];
+            n++;
+        }
+        if (n < MIN_SAMPLES_COUNT) {
+            return 0;
+        }
+        double meanT = sumT / n;
+        double meanP = sumP / n;
+        double covariance = 0;
+        double variance = 0;
+        for (int i = 0; i < n; i++) {
+            int index = (newest + CAPACITY - i) % CAPACITY;
+            double t = times[index] - newestTime - meanT;
+            covariance += t * (positions[index] - meanP);
+            variance += t * t;
+        }
+        if (variance == 0) {
+            return 0;
+        }
+        windowCount = n;
+        return covariance / variance;
+    }
+
+}
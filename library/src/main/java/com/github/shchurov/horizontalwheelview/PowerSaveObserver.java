@@ -0,0 +1,48 @@
+package com.github.shchurov.horizontalwheelview;
+
+import android.annotation.TargetApi;
+import android.content.BroadcastReceiver;
+import android.content.Context;
+import android.content.Intent;
+import android.content.IntentFilter;
+import android.os.Build;
+import android.os.PowerManager;
+
+@TargetApi(Build.VERSION_CODES.LOLLIPOP)
+class PowerSaveObserver extends BroadcastReceiver {
+
+    private HorizontalWheelView view;
+    private Context registeredContext;
+
+    PowerSaveObserver(HorizontalWheelView view) {
+        this.view = view;
+    }
+
+    static boolean isPowerSaveMode(Context context) {
+        if (Build.VERSION.SDK_INT < Build.VERSION_CODES.LOLLIPOP) {
+            return false;
+        }
+        PowerManager powerManager = (PowerManager) context.getSystemService(Context.POWER_SERVICE);
+        return powerManager != null && powerManager.isPowerSaveMode();
+    }
+
+    void register() {
+        if (registeredContext == null && Build.VERSION.SDK_INT >= Build.VERSION_CODES.LOLLIPOP) {
+            registeredContext = view.getContext().getApplicationContext();
+            registeredContext.registerReceiver(this, new IntentFilter(PowerManager.ACTION_POWER_SAVE_MODE_CHANGED));
+        }
+    }
+
+    void unregister() {
+        if (registeredContext != null) {
+            registeredContext.unregisterReceiver(this);
+            registeredContext = null;
+        }
+    }
+
+    @Override
+    public void onReceive(Context context, Intent intent) {
+        view.updateLowPower();
+    }
+
+}
@@ -0,0 +1,19 @@
+package com.github.shchurov.horizontalwheelview;
+
+class RenderScratch {
+
+    private LineCommands commands = new LineCommands();
+    private float[] points = new float[0];
+
+    LineCommands getCommands() {
+        return commands;
+    }
+
+    float[] obtainPoints(int size) {
+        if (points.length < size) {
+            points = new float[size];
+        }
+        return points;
+    }
+
+}
@@ -6,7 +6,51 @@ import android.view.View;
 
 class SavedState extends View.BaseSavedState {
 
+    private static final int VERSION = 1;
+    private static final int FLAG_SHOW_ACTIVE_RANGE = 1;
+    private static final int FLAG_END_LOCK = 1 << 1;
+    private static final int FLAG_ONLY_POSITIVE_VALUES = 1 << 2;
+    private static final int FLAG_SNAP_TO_MARKS = 1 << 3;
+    private static final int FLAG_DISCRETE_VALUES = 1 << 4;
+    private static final int FLAG_SETTLING = 1 << 5;
+    private static final int FLAG_READ_ONLY = 1 << 6;
+    private static final int FLAG_BOUNCE_PENDING = 1 << 7;
+    private static final int FLAG_ANGLE_BOUNDS = 1 << 8;
+    private static final int FLAG_OVERSCROLL_BOUNCE = 1 << 9;
+    private static final int FLAG_LOW_LATENCY_TOUCH = 1 << 10;
+    private static final int FLAG_TOUCH_PREDICTION = 1 << 11;
+
+    boolean compatible = true;
     double angle;
+    int marksCount;
+    int normalColor;
+    int activeColor;
+    boolean showActiveRange;
+    boolean endLock;
+    boolean onlyPositiveValues;
+    boolean snapToMarks;
+    boolean readOnly;
+    boolean discreteValues;
+    int minValue;
+    int maxValue;
+    int valueStep;
+    boolean angleBounds;
+    double minAngle;
+    double maxAngle;
+    boolean overscrollBounce;
+    boolean lowLatencyTouch;
+    boolean touchPrediction;
+    int powerSaveMode;
+    boolean settling;
+    double settlingStartAngle;
+    double settlingEndAngle;
+    long settlingDurationNanos;
+    double settlingExponent;
+    long settlingElapsedNanos;
+    double settlingStopAngle;
+    boolean bouncePending;
+    double bounceEndAngle;
+    double bounceVelocity;
 
     SavedState(Parcelable superState) {
         super(superState);
@@ -14,20 +58,132 @@ class SavedState extends View.BaseSavedState {
 
     private SavedState(Parcel in) {
         super(in);
-        angle = (Double) in.readValue(null);
+        if (in.readInt() != VERSION) {
+            compatible = false;
+            return;
+        }
+        angle = in.readDouble();
+        marksCount = in.readInt();
+        normalColor = in.readInt();
+        activeColor = in.readInt();
+        int flags = in.readInt();
+        showActiveRange = (flags & FLAG_SHOW_ACTIVE_RANGE) != 0;
+        endLock = (flags & FLAG_END_LOCK) != 0;
+        onlyPositiveValues = (flags & FLAG_ONLY_POSITIVE_VALUES) != 0;
+        snapToMarks = (flags & FLAG_SNAP_TO_MARKS) != 0;
+        discreteValues = (flags & FLAG_DISCRETE_VALUES) != 0;
+        settling = (flags & FLAG_SETTLING) != 0;
+        readOnly = (flags & FLAG_READ_ONLY) != 0;
+        bouncePending = (flags & FLAG_BOUNCE_PENDING) != 0;
+        angleBounds = (flags & FLAG_ANGLE_BOUNDS) != 0;
+        overscrollBounce = (flags & FLAG_OVERSCROLL_BOUNCE) != 0;
+        lowLatencyTouch = (flags & FLAG_LOW_LATENCY_TOUCH) != 0;
+        touchPrediction = (flags & FLAG_TOUCH_PREDICTION) != 0;
+        powerSaveMode = in.readInt();
+        if (discreteValues) {
+            minValue = in.readInt();
+            maxValue = in.readInt();
+            valueStep = in.readInt();
+        }
+        if (angleBounds) {
+            minAngle = in.readDouble();
+            maxAngle = in.readDouble();
+        }
+        if (settling) {
+            settlingStartAngle = in.readDouble();
+            settlingEndAngle = in.readDouble();
+            settlingDurationNanos = in.readLong();
+            settlingExponent = in.readDouble();
+            settlingElapsedNanos = in.readLong();
+            settlingStopAngle = in.readDouble();
+        }
+        if (bouncePending) {
+            bounceEndAngle = in.readDouble();
+            bounceVelocity = in.readDouble();
+        }
     }
 
     @Override
     public void writeToParcel(Parcel out, int flags) {
         super.writeToParcel(out, flags);
-        out.writeValue(angle);
+        out.writeInt(VERSION);
+        out.writeDouble(angle);
+        out.writeInt(marksCount);
+        out.writeInt(normalColor);
+        out.writeInt(activeColor);
+        out.writeInt(packFlags());
+        out.writeInt(powerSaveMode);
+        if (discreteValues) {
+            out.writeInt(minValue);
+            out.writeInt(maxValue);
+            out.writeInt(valueStep);
+        }
+        if (angleBounds) {
+            out.writeDouble(minAngle);
+            out.writeDouble(maxAngle);
+        }
+        if (settling) {
+            out.writeDouble(settlingStartAngle);
+            out.writeDouble(settlingEndAngle);
+            out.writeLong(settlingDurationNanos);
+            out.writeDouble(settlingExponent);
+            out.writeLong(settlingElapsedNanos);
+            out.writeDouble(settlingStopAngle);
+        }
+        if (bouncePending) {
+            out.writeDouble(bounceEndAngle);
+            out.writeDouble(bounceVelocity);
+        }
+    }
+
+    private int packFlags() {
+        int flags = 0;
+        if (showActiveRange) {
+            flags |= FLAG_SHOW_ACTIVE_RANGE;
+        }
+        if (endLock) {
+            flags |= FLAG_END_LOCK;
+        }
+        if (onlyPositiveValues) {
+            flags |= FLAG_ONLY_POSITIVE_VALUES;
+        }
+        if (snapToMarks) {
+            flags |= FLAG_SNAP_TO_MARKS;
+        }
+        if (discreteValues) {
+            flags |= FLAG_DISCRETE_VALUES;
+        }
+        if (settling) {
+            flags |= FLAG_SETTLING;
+        }
+        if (readOnly) {
+            flags |= FLAG_READ_ONLY;
+        }
+        if (bouncePending) {
+            flags |= FLAG_BOUNCE_PENDING;
+        }
+        if (angleBounds) {
+            flags |= FLAG_ANGLE_BOUNDS;
+        }
+        if (overscrollBounce) {
+            flags |= FLAG_OVERSCROLL_BOUNCE;
+        }
+        if (lowLatencyTouch) {
+            flags |= FLAG_LOW_LATENCY_TOUCH;
+        }
+        if (touchPrediction) {
+            flags |= FLAG_TOUCH_PREDICTION;
+        }
+        return flags;
     }
 
     @Override
     public String toString() {
         return "HorizontalWheelView.SavedState{"
                 + Integer.toHexString(System.identityHashCode(this))
-                + " angle=" + angle + "}";
+                + " angle=" + angle
+                + " marksCount=" + marksCount
+                + " settling=" + settling + "}";
     }
 
     public static final Parcelable.Creator<SavedState> CREATOR
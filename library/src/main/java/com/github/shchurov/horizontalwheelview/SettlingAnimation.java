@@ -0,0 +1,152 @@
+package com.github.shchurov.horizontalwheelview;
+
+class SettlingAnimation implements FrameScheduler.Callback {
+
+    private static final long NANOS_PER_SECOND = 1000000000;
+    private static final long MAX_START_DELAY_NANOS = 100000000;
+    private static final int FRAME_INTERVAL_TOLERANCE_DIVISOR = 8;
+
+    interface Listener {
+        void onSettlingUpdate(double angle);
+
+        void onSettlingEnd();
+    }
+
+    private Listener listener;
+    private FrameScheduler scheduler;
+    private SettlingCurve curve = new SettlingCurve();
+    private long startTimeNanos;
+    private long requestedStartTimeNanos;
+    private long initialElapsedNanos;
+    private long lastFrameTimeNanos;
+    private long minFrameIntervalNanos;
+    private boolean running;
+    private StatsRecorder statsRecorder;
+
+    SettlingAnimation(Listener listener, WheelCoordinator coordinator) {
+        this.listener = listener;
+        scheduler = FrameScheduler.create(this, coordinator);
+    }
+
+    void setStatsRecorder(StatsRecorder statsRecorder) {
+        this.statsRecorder = statsRecorder;
+    }
+
+    void setCoordinator(WheelCoordinator coordinator) {
+        boolean posted = scheduler.posted;
+        scheduler.cancel();
+        scheduler = FrameScheduler.create(this, coordinator);
+        if (posted) {
+            scheduler.postFrame();
+        }
+    }
+
+    void setMaxFrameRate(int framesPerSecond) {
+        minFrameIntervalNanos = framesPerSecond > 0 ? NANOS_PER_SECOND / framesPerSecond : 0;
+    }
+
+    void start(double startAngle, double endAngle, long durationNanos, double exponent, long startTimeNanos) {
+        resume(startAngle, endAngle, durationNanos, exponent, 0);
+        requestedStartTimeNanos = startTimeNanos;
+    }
+
+    void resume(double startAngle, double endAngle, long durationNanos, double exponent, long elapsedNanos) {
+        curve.set(startAngle, endAngle, durationNanos, exponent);
+        initialElapsedNanos = elapsedNanos;
+        startTimeNanos = -1;
+        requestedStartTimeNanos = -1;
+        running = true;
+        if (statsRecorder != null) {
+            statsRecorder.onSettlingStarted();
+        }
+        scheduler.postFrame();
+    }
+
+    long stopAt(double angle) {
+        return curve.stopAt(angle);
+    }
+
+    double getVelocity(long elapsedNanos) {
+        return curve.getVelocity(elapsedNanos);
+    }
+
+    long getStopTimeNanos() {
+        return startTimeNanos + curve.getStopNanos();
+    }
+
+    void cancel() {
+        if (running) {
+            running = false;
+            scheduler.cancel();
+            listener.onSettlingEnd();
+        }
+    }
+
+    private boolean isFrameSkipped(long frameTimeNanos) {
+        long minInterval = minFrameIntervalNanos - minFrameIntervalNanos / FRAME_INTERVAL_TOLERANCE_DIVISOR;
+        return frameTimeNanos - lastFrameTimeNanos < minInterval
+                && !curve.isFinished(frameTimeNanos - startTimeNanos);
+    }
+
+    boolean isRunning() {
+        return running;
+    }
+
+    double getStartAngle() {
+        return curve.getStartAngle();
+    }
+
+    double getEndAngle() {
+        return curve.getEndAngle();
+    }
+
+    long getDurationNanos() {
+        return curve.getDurationNanos();
+    }
+
+    double getExponent() {
+        return curve.getExponent();
+    }
+
+    double getStopAngle() {
+        return curve.getStopAngle();
+    }
+
+    long getElapsedNanos() {
+        return startTimeNanos < 0 ? initialElapsedNanos : lastFrameTimeNanos - startTimeNanos;
+    }
+
+    private long calcStartTime(long frameTimeNanos) {
+        long delay = frameTimeNanos - requestedStartTimeNanos;
+        if (requestedStartTimeNanos >= 0 && delay >= 0 && delay <= MAX_START_DELAY_NANOS) {
+            return requestedStartTimeNanos;
+        }
+        return frameTimeNanos - initialElapsedNanos;
+    }
+
+    @Override
+    public void onFrame(long frameTimeNanos) {
+        if (statsRecorder != null) {
+            statsRecorder.onSettlingFrame(frameTimeNanos);
+        }
+        if (startTimeNanos < 0) {
+            startTimeNanos = calcStartTime(frameTimeNanos);
+        } else if (isFrameSkipped(frameTimeNanos)) {
+            scheduler.postFrame();
+            return;
+        }
+        lastFrameTimeNanos = frameTimeNanos;
+        long elapsedNanos = frameTimeNanos - startTimeNanos;
+        listener.onSettlingUpdate(curve.getAngle(elapsedNanos));
+        if (!running) {
+            return;
+        }
+        if (curve.isFinished(elapsedNanos)) {
+            running = false;
+            listener.onSettlingEnd();
+        } else {
+            scheduler.postFrame();
+        }
+    }
+
+}
@@ -0,0 +1,107 @@
+package com.github.shchurov.horizontalwheelview;
+
+class SettlingCurve {
+
+    private static final double DECELERATE_FACTOR = 2.5;
+    static final double DEFAULT_EXPONENT = 2 * DECELERATE_FACTOR;
+    static final double MIN_EXPONENT = 2;
+    static final double MAX_EXPONENT = 8;
+    private static final double DECELERATION = 20;
+    private static final long NANOS_PER_SECOND = 1000000000;
+
+    private double startAngle;
+    private double endAngle;
+    private long durationNanos;
+    private double exponent = DEFAULT_EXPONENT;
+    private long stopNanos;
+    private double stopAngle;
+    private long lastElapsedNanos;
+
+    static long calcDurationNanos(double distance, double velocity, long minNanos, long maxNanos) {
+        if (distance == 0 || velocity == 0 || (distance > 0) != (velocity > 0)) {
+            return -1;
+        }
+        double exponent = clampExponent(velocity * velocity / (DECELERATION * Math.abs(distance)));
+        double nanos = exponent * distance / velocity * NANOS_PER_SECOND;
+        return (long) Math.max(minNanos, Math.min(maxNanos, nanos));
+    }
+
+    static double calcExponent(double distance, double velocity, long durationNanos) {
+        if (distance == 0 || velocity == 0 || (distance > 0) != (velocity > 0)) {
+            return DEFAULT_EXPONENT;
+        }
+        return clampExponent(velocity * durationNanos / NANOS_PER_SECOND / distance);
+    }
+
+    private static double clampExponent(double exponent) {
+        return Math.max(MIN_EXPONENT, Math.min(MAX_EXPONENT, exponent));
+    }
+
+    void set(double startAngle, double endAngle, long durationNanos, double exponent) {
+        this.startAngle = startAngle;
+        this.endAngle = endAngle;
+        this.durationNanos = durationNanos;
+        this.exponent = exponent;
+        stopNanos = durationNanos;
+        stopAngle = endAngle;
+        lastElapsedNanos = 0;
+    }
+
+    long stopAt(double angle) {
+        double fraction = (angle - startAngle) / (endAngle - startAngle);
+        if (!(fraction > 0 && fraction < 1)) {
+            return stopNanos;
+        }
+        double timeFraction = 1 - Math.pow(1 - fraction, 1 / exponent);
+        stopNanos = (long) Math.ceil(timeFraction * durationNanos);
+        stopAngle = angle;
+        return stopNanos;
+    }
+
+    double getVelocity(long elapsedNanos) {
+        if (elapsedNanos >= durationNanos) {
+            return 0;
+        }
+        double fraction = (double) elapsedNanos / durationNanos;
+        return exponent * (endAngle - startAngle) * Math.pow(1 - fraction, exponent - 1)
+                * NANOS_PER_SECOND / durationNanos;
+    }
+
+    double getStartAngle() {
+        return startAngle;
+    }
+
+    double getEndAngle() {
+        return endAngle;
+    }
+
+    long getDurationNanos() {
+        return durationNanos;
+    }
+
+    double getExponent() {
+        return exponent;
+    }
+
+    double getStopAngle() {
+        return stopAngle;
+    }
+
+    long getStopNanos() {
+        return stopNanos;
+    }
+
+    boolean isFinished(long elapsedNanos) {
+        return elapsedNanos >= stopNanos;
+    }
+
+    double getAngle(long elapsedNanos) {
+        lastElapsedNanos = Math.max(lastElapsedNanos, elapsedNanos);
+        if (isFinished(lastElapsedNanos)) {
+            return stopAngle;
+        }
+        double fraction = (double) lastElapsedNanos / durationNanos;
+        return startAngle + (endAngle - startAngle) * (1 - Math.pow(1 - fraction, exponent));
+    }
+
+}
@@ -0,0 +1,60 @@
+package com.github.shchurov.horizontalwheelview;
+
+import android.graphics.LinearGradient;
+import android.graphics.Shader;
+
+import static com.github.shchurov.horizontalwheelview.WheelGeometry.SHADE_RANGE;
+
+class ShadeShaders {
+
+    private static final int STOPS_COUNT = 33;
+    private static final int CACHE_SIZE = 4;
+
+    private float[] positions = new float[STOPS_COUNT];
+    private float[] shades = new float[STOPS_COUNT];
+    private int[] colors = new int[CACHE_SIZE];
+    private Shader[] shaders = new Shader[CACHE_SIZE];
+    private int size;
+    private int nextSlot;
+    private float left;
+    private float right;
+
+    ShadeShaders() {
+        for (int i = 0; i < STOPS_COUNT; i++) {
+            positions[i] = (float) i / (STOPS_COUNT - 1);
+            double cos = 1 - 2 * positions[i];
+            double sin = Math.sqrt(Math.max(0, 1 - cos * cos));
+            shades[i] = (float) (1 - SHADE_RANGE * (1 - sin));
+        }
+    }
+
+    void setBounds(float left, float right) {
+        this.left = left;
+        this.right = right;
+        clear();
+    }
+
+    void clear() {
+        size = 0;
+        nextSlot = 0;
+    }
+
+    Shader get(int color) {
+        for (int i = 0; i < size; i++) {
+            if (colors[i] == color) {
+                return shaders[i];
+            }
+        }
+        int[] stopColors = new int[STOPS_COUNT];
+        for (int i = 0; i < STOPS_COUNT; i++) {
+            stopColors[i] = WheelGeometry.applyShade(color, shades[i]);
+        }
+        Shader shader = new LinearGradient(left, 0, right, 0, stopColors, positions, Shader.TileMode.CLAMP);
+        colors[nextSlot] = color;
+        shaders[nextSlot] = shader;
+        nextSlot = (nextSlot + 1) % CACHE_SIZE;
+        size = Math.min(size + 1, CACHE_SIZE);
+        return shader;
+    }
+
+}
@@ -0,0 +1,185 @@
+package com.github.shchurov.horizontalwheelview;
+
+import android.os.Build;
+import android.os.Debug;
+import android.os.Trace;
+
+import static com.github.shchurov.horizontalwheelview.HorizontalWheelView.SCROLL_STATE_IDLE;
+
+class StatsRecorder {
+
+    private static final int TYPE_DRAW = 0;
+    private static final int TYPE_ANGLE_UPDATE = 1;
+    private static final int TYPE_INVALIDATE = 2;
+    private static final int TYPE_SETTLING_FRAME = 3;
+    private static final int TYPE_DROPPED_FRAMES = 4;
+    private static final int CAPACITY = 1024;
+    private static final long WINDOW_NANOS = 1000000000;
+    private static final long DEFAULT_FRAME_INTERVAL_NANOS = 16666667;
+    private static final Object ALLOC_COUNTING_LOCK = new Object();
+
+    private static int allocCountingUsers;
+
+    private final int[] types = new int[CAPACITY];
+    private final long[] times = new long[CAPACITY];
+    private final long[] values = new long[CAPACITY];
+    private volatile long writeCount;
+    private volatile long totalDroppedFrames;
+    private volatile long lastGestureAllocations;
+    private long frameIntervalNanos = DEFAULT_FRAME_INTERVAL_NANOS;
+    private long lastSettlingFrameNanos = -1;
+    private boolean gestureActive;
+    private int gestureStartAllocations;
+    private boolean countingAllocations;
+
+    @SuppressWarnings("deprecation")
+    void start(float refreshRate) {
+        if (refreshRate > 0) {
+            frameIntervalNanos = (long) (1000000000 / refreshRate);
+        }
+        if (countingAllocations) {
+            return;
+        }
+        countingAllocations = true;
+        synchronized (ALLOC_COUNTING_LOCK) {
+            if (allocCountingUsers++ == 0) {
+                Debug.startAllocCounting();
+            }
+        }
+    }
+
+    @SuppressWarnings("deprecation")
+    void stop() {
+        if (!countingAllocations) {
+            return;
+        }
+        countingAllocations = false;
+        gestureActive = false;
+        synchronized (ALLOC_COUNTING_LOCK) {
+            if (--allocCountingUsers == 0) {
+                Debug.stopAllocCounting();
+            }
+        }
+    }
+
+    static void beginSection(String name) {
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN_MR2) {
+            Trace.beginSection(name);
+        }
+    }
+
+    static void endSection() {
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN_MR2) {
+            Trace.endSection();
+        }
+    }
+
+    private void record(int type, long time, long value) {
+        long count = writeCount;
+        int index = (int) (count % CAPACITY);
+        types[index] = type;
+        times[index] = time;
+        values[index] = value;
+        writeCount = count + 1;
+    }
+
+    void onDraw(long durationNanos) {
+        record(TYPE_DRAW, System.nanoTime(), durationNanos);
+    }
+
+    void onAngleUpdate() {
+        record(TYPE_ANGLE_UPDATE, System.nanoTime(), 0);
+    }
+
+    void onInvalidate() {
+        record(TYPE_INVALIDATE, System.nanoTime(), 0);
+    }
+
+    void onSettlingStarted() {
+        lastSettlingFrameNanos = -1;
+    }
+
+    void onSettlingFrame(long frameTimeNanos) {
+        record(TYPE_SETTLING_FRAME, frameTimeNanos, 0);
+        if (lastSettlingFrameNanos >= 0) {
+            long dropped = Math.round((double) (frameTimeNanos - lastSettlingFrameNanos) / frameIntervalNanos) - 1;
+            if (dropped > 0) {
+                record(TYPE_DROPPED_FRAMES, frameTimeNanos, dropped);
+                totalDroppedFrames += dropped;
+            }
+        }
+        lastSettlingFrameNanos = frameTimeNanos;
+    }
+
+    @SuppressWarnings("deprecation")
+    void onScrollStateChanged(int state) {
+        if (!countingAllocations) {
+            return;
+        }
+        if (state != SCROLL_STATE_IDLE && !gestureActive) {
+            gestureActive = true;
+            gestureStartAllocations = Debug.getThreadAllocCount();
+        } else if (state == SCROLL_STATE_IDLE && gestureActive) {
+            gestureActive = false;
+            lastGestureAllocations = Debug.getThreadAllocCount() - gestureStartAllocations;
+        }
+    }
+
+    WheelStats snapshot() {
+        long end = writeCount;
+        long start = Math.max(0, end - CAPACITY);
+        int size = (int) (end - start);
+        int[] sampleTypes = new int[size];
+        long[] sampleTimes = new long[size];
+        long[] sampleValues = new long[size];
+        for (int i = 0; i < size; i++) {
+            int index = (int) ((start + i) % CAPACITY);
+            sampleTypes[i] = types[index];
+            sampleTimes[i] = times[index];
+            sampleValues[i] = values[index];
+        }
+        long overwritten = writeCount + 1 - CAPACITY - start;
+        int first = (int) Math.max(0, Math.min(size, overwritten));
+        return aggregate(sampleTypes, sampleTimes, sampleValues, first, size);
+    }
+
+    private WheelStats aggregate(int[] sampleTypes, long[] sampleTimes, long[] sampleValues, int from, int to) {
+        long windowStart = System.nanoTime() - WINDOW_NANOS;
+        int drawCount = 0;
+        long drawSum = 0;
+        long drawMax = 0;
+        int angleUpdates = 0;
+        int invalidations = 0;
+        int settlingFrames = 0;
+        int droppedFrames = 0;
+        for (int i = from; i < to; i++) {
+            if (sampleTimes[i] < windowStart) {
+                continue;
+            }
+            switch (sampleTypes[i]) {
+                case TYPE_DRAW:
+                    drawCount++;
+                    drawSum += sampleValues[i];
+                    drawMax = Math.max(drawMax, sampleValues[i]);
+                    break;
+                case TYPE_ANGLE_UPDATE:
+                    angleUpdates++;
+                    break;
+                case TYPE_INVALIDATE:
+                    invalidations++;
+                    break;
+                case TYPE_SETTLING_FRAME:
+                    settlingFrames++;
+                    break;
+                case TYPE_DROPPED_FRAMES:
+                    droppedFrames += sampleValues[i];
+                    break;
+            }
+        }
+        float seconds = (float) WINDOW_NANOS / 1000000000;
+        return new WheelStats(WINDOW_NANOS, drawCount, drawCount > 0 ? drawSum / drawCount : 0, drawMax,
+                angleUpdates / seconds, invalidations / seconds, settlingFrames / seconds, droppedFrames,
+                totalDroppedFrames, lastGestureAllocations);
+    }
+
+}
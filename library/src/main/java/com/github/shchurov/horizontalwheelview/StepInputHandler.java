@@ -0,0 +1,111 @@
+package com.github.shchurov.horizontalwheelview;
+
+import android.view.InputDevice;
+import android.view.KeyEvent;
+import android.view.MotionEvent;
+
+class StepInputHandler implements FrameScheduler.Callback {
+
+    private static final int SOURCE_ROTARY_ENCODER = 0x00400000;
+    private static final int AXIS_SCROLL = 26;
+    private static final long BURST_INTERVAL_MILLIS = 100;
+    private static final int STEPS_PER_ACCELERATION = 8;
+    private static final int MAX_ACCELERATION = 8;
+
+    private HorizontalWheelView view;
+    private FrameScheduler scheduler = FrameScheduler.create(this);
+    private double pendingSteps;
+    private long lastInputTimeMillis;
+    private int burstCount;
+
+    StepInputHandler(HorizontalWheelView view) {
+        this.view = view;
+    }
+
+    void setCoordinator(WheelCoordinator coordinator) {
+        boolean posted = scheduler.posted;
+        scheduler.cancel();
+        scheduler = FrameScheduler.create(this, coordinator);
+        if (posted) {
+            scheduler.postFrame();
+        }
+    }
+
+    void cancel() {
+        pendingSteps = 0;
+        burstCount = 0;
+        scheduler.cancel();
+    }
+
+    boolean onGenericMotionEvent(MotionEvent event) {
+        if (event.getActionMasked() != MotionEvent.ACTION_SCROLL) {
+            return false;
+        }
+        float steps;
+        if (event.isFromSource(SOURCE_ROTARY_ENCODER)) {
+            steps = -event.getAxisValue(AXIS_SCROLL);
+        } else if (event.isFromSource(InputDevice.SOURCE_CLASS_POINTER)) {
+            steps = event.getAxisValue(MotionEvent.AXIS_HSCROLL);
+            if (steps == 0) {
+                steps = -event.getAxisValue(MotionEvent.AXIS_VSCROLL);
+            }
+        } else {
+            return false;
+        }
+        if (steps == 0) {
+            return false;
+        }
+        addSteps(steps, event.getEventTime());
+        return true;
+    }
+
+    boolean onKeyDown(int keyCode, KeyEvent event) {
+        int steps;
+        switch (keyCode) {
+            case KeyEvent.KEYCODE_DPAD_RIGHT:
+            case KeyEvent.KEYCODE_PLUS:
+            case KeyEvent.KEYCODE_NUMPAD_ADD:
+                steps = 1;
+                break;
+            case KeyEvent.KEYCODE_DPAD_LEFT:
+            case KeyEvent.KEYCODE_MINUS:
+            case KeyEvent.KEYCODE_NUMPAD_SUBTRACT:
+                steps = -1;
+                break;
+            default:
+                return false;
+        }
+        if (!view.canRotateBySteps(pendingSteps, steps)) {
+            return false;
+        }
+        if (event.getRepeatCount() == 0) {
+            burstCount = 0;
+        }
+        addSteps(steps, event.getEventTime());
+        return true;
+    }
+
+    void addSteps(double steps, long eventTimeMillis) {
+        if (eventTimeMillis - lastInputTimeMillis > BURST_INTERVAL_MILLIS) {
+            burstCount = 0;
+        }
+        lastInputTimeMillis = eventTimeMillis;
+        int acceleration = Math.min(MAX_ACCELERATION, 1 + burstCount / STEPS_PER_ACCELERATION);
+        burstCount++;
+        pendingSteps += steps * acceleration;
+        scheduler.postFrame();
+    }
+
+    @Override
+    public void onFrame(long frameTimeNanos) {
+        double steps = pendingSteps;
+        if (view.isSnapEnabled()) {
+            steps = (int) steps;
+        }
+        pendingSteps -= steps;
+        if (steps != 0) {
+            view.rotateBySteps(steps);
+        }
+    }
+
+}
@@ -0,0 +1,80 @@
+package com.github.shchurov.horizontalwheelview;
+
+class TargetAnimation implements FrameScheduler.Callback {
+
+    private static final double NANOS_PER_SECOND = 1000000000;
+    private static final double SMOOTH_TIME_SECONDS = 0.08;
+    private static final double MAX_FRAME_SECONDS = 0.1;
+    private static final double FINISH_DISTANCE = 1e-4;
+    private static final double FINISH_VELOCITY = 1e-2;
+
+    private HorizontalWheelView view;
+    private FrameScheduler scheduler;
+    private boolean running;
+    private double position;
+    private double velocity;
+    private double target;
+    private long lastFrameTimeNanos;
+
+    TargetAnimation(HorizontalWheelView view, WheelCoordinator coordinator) {
+        this.view = view;
+        scheduler = FrameScheduler.create(this, coordinator);
+    }
+
+    void setCoordinator(WheelCoordinator coordinator) {
+        boolean posted = scheduler.posted;
+        scheduler.cancel();
+        scheduler = FrameScheduler.create(this, coordinator);
+        if (posted) {
+            scheduler.postFrame();
+        }
+    }
+
+    void animateTo(double startAngle, double targetAngle) {
+        target = targetAngle;
+        if (!running) {
+            running = true;
+            position = startAngle;
+            velocity = 0;
+            lastFrameTimeNanos = System.nanoTime();
+            scheduler.postFrame();
+        }
+    }
+
+    void cancel() {
+        if (running) {
+            running = false;
+            scheduler.cancel();
+        }
+    }
+
+    boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public void onFrame(long frameTimeNanos) {
+        double dt = (frameTimeNanos - lastFrameTimeNanos) / NANOS_PER_SECOND;
+        lastFrameTimeNanos = frameTimeNanos;
+        step(Math.max(0, Math.min(MAX_FRAME_SECONDS, dt)));
+        if (Math.abs(target - position) < FINISH_DISTANCE && Math.abs(velocity) < FINISH_VELOCITY) {
+            position = target;
+            velocity = 0;
+            running = false;
+        } else {
+            scheduler.postFrame();
+        }
+        view.applyAngle(position);
+    }
+
+    private void step(double dt) {
+        double omega = 2 / SMOOTH_TIME_SECONDS;
+        double x = omega * dt;
+        double decay = 1 / (1 + x + 0.48 * x * x + 0.235 * x * x * x);
+        double change = position - target;
+        double temp = (velocity + omega * change) * dt;
+        velocity = (velocity - omega * temp) * decay;
+        position = target + (change + temp) * decay;
+    }
+
+}
@@ -0,0 +1,92 @@
+package com.github.shchurov.horizontalwheelview;
+
+class TouchEventQueue {
+
+    static final int ACTION_DOWN = 0;
+    static final int ACTION_MOVE = 1;
+    static final int ACTION_UP = 2;
+    static final int ACTION_CANCEL = 3;
+    static final int ACTION_REBASE = 4;
+    static final int ACTION_OVERFLOW = 5;
+
+    private static final int CAPACITY = 256;
+    private static final int MASK = CAPACITY - 1;
+    private static final int MOVES_CAPACITY = CAPACITY - 16;
+
+    private final int[] actions = new int[CAPACITY];
+    private final float[] positions = new float[CAPACITY];
+    private final long[] times = new long[CAPACITY];
+    private volatile int head;
+    private volatile int tail;
+    private boolean pendingMove;
+    private float pendingPosition;
+    private long pendingTimeMillis;
+    private int action;
+    private float position;
+    private long timeMillis;
+
+    void offer(int action, float position, long timeMillis) {
+        int t = tail;
+        if (action == ACTION_MOVE) {
+            if (t - head >= MOVES_CAPACITY) {
+                pendingMove = true;
+                pendingPosition = position;
+                pendingTimeMillis = timeMillis;
+            } else {
+                pendingMove = false;
+                put(t, action, position, timeMillis);
+            }
+            return;
+        }
+        if (pendingMove && t - head < CAPACITY - 1) {
+            pendingMove = false;
+            put(t, ACTION_MOVE, pendingPosition, pendingTimeMillis);
+            t++;
+        }
+        pendingMove = false;
+        int size = t - head;
+        if (size == CAPACITY) {
+            return;
+        }
+        // the last free slot is kept for the marker that tells the consumer events were dropped
+        put(t, size == CAPACITY - 1 ? ACTION_OVERFLOW : action, position, timeMillis);
+    }
+
+    private void put(int t, int action, float position, long timeMillis) {
+        int index = t & MASK;
+        actions[index] = action;
+        positions[index] = position;
+        times[index] = timeMillis;
+        tail = t + 1;
+    }
+
+    boolean poll() {
+        int h = head;
+        if (h == tail) {
+            return false;
+        }
+        int index = h & MASK;
+        action = actions[index];
+        position = positions[index];
+        timeMillis = times[index];
+        head = h + 1;
+        return true;
+    }
+
+    boolean isEmpty() {
+        return head == tail;
+    }
+
+    int getAction() {
+        return action;
+    }
+
+    float getPosition() {
+        return position;
+    }
+
+    long getTimeMillis() {
+        return timeMillis;
+    }
+
+}
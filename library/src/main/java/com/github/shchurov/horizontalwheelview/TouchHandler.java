@@ -1,52 +1,192 @@
 package com.github.shchurov.horizontalwheelview;
 
-import android.animation.Animator;
-import android.animation.AnimatorListenerAdapter;
-import android.animation.ValueAnimator;
 import android.view.GestureDetector;
 import android.view.MotionEvent;
-import android.view.animation.DecelerateInterpolator;
-import android.view.animation.Interpolator;
+import android.view.VelocityTracker;
+import android.view.ViewConfiguration;
 
 import static com.github.shchurov.horizontalwheelview.HorizontalWheelView.SCROLL_STATE_DRAGGING;
 import static com.github.shchurov.horizontalwheelview.HorizontalWheelView.SCROLL_STATE_IDLE;
 import static com.github.shchurov.horizontalwheelview.HorizontalWheelView.SCROLL_STATE_SETTLING;
-import static java.lang.Math.PI;
 
-class TouchHandler extends GestureDetector.SimpleOnGestureListener {
+class TouchHandler extends GestureDetector.SimpleOnGestureListener implements SettlingAnimation.Listener {
 
-    private static final float SCROLL_ANGLE_MULTIPLIER = 0.002f;
-    private static final float FLING_ANGLE_MULTIPLIER = 0.0002f;
-    private static final int SETTLING_DURATION_MULTIPLIER = 1000;
-    private static final Interpolator INTERPOLATOR = new DecelerateInterpolator(2.5f);
+    static final float SCROLL_ANGLE_MULTIPLIER = 0.002f;
+    static final float FLING_ANGLE_MULTIPLIER = 0.0002f;
+    static final int SETTLING_DURATION_MULTIPLIER = 1000;
+    static final long NANOS_PER_MILLI = 1000000;
+    static final long MIN_SETTLING_DURATION_NANOS = 50 * NANOS_PER_MILLI;
+    static final long MAX_SETTLING_DURATION_NANOS = 2000 * NANOS_PER_MILLI;
+    private static final double BOUNCE_RESTITUTION = 0.25;
+    private static final float DEFAULT_FRAME_INTERVAL_MILLIS = 16;
 
     private HorizontalWheelView view;
     private HorizontalWheelView.Listener listener;
     private GestureDetector gestureDetector;
-    private ValueAnimator settlingAnimator;
+    private SettlingAnimation settlingAnimation;
+    private WheelCoordinator coordinator;
+    private StatsRecorder statsRecorder;
+    private int settlingMaxFrameRate;
     private boolean snapToMarks;
     private int scrollState = SCROLL_STATE_IDLE;
+    private double scrollAngleMultiplier = SCROLL_ANGLE_MULTIPLIER;
+    private double flingAngleMultiplier = FLING_ANGLE_MULTIPLIER;
+    private boolean lowLatencyEnabled;
+    private boolean predictionEnabled;
+    private VelocityTracker velocityTracker;
+    private MotionPredictor predictor;
+    private int minFlingVelocity;
+    private int maxFlingVelocity;
+    private float lastX;
+    private boolean rebaseLastX;
+    private double appliedPrediction;
+    private float predictionHorizonMillis = DEFAULT_FRAME_INTERVAL_MILLIS;
+    private boolean bounceEnabled;
+    private boolean bouncePending;
+    private double bounceEndAngle;
+    private double bounceVelocity;
 
     TouchHandler(HorizontalWheelView view) {
         this.view = view;
+    }
+
+    private void initGestureDetector() {
         gestureDetector = new GestureDetector(view.getContext(), this);
+        ViewConfiguration configuration = ViewConfiguration.get(view.getContext());
+        minFlingVelocity = configuration.getScaledMinimumFlingVelocity();
+        maxFlingVelocity = configuration.getScaledMaximumFlingVelocity();
+    }
+
+    private SettlingAnimation obtainSettlingAnimation() {
+        if (settlingAnimation == null) {
+            settlingAnimation = new SettlingAnimation(this, coordinator);
+            settlingAnimation.setStatsRecorder(statsRecorder);
+            settlingAnimation.setMaxFrameRate(settlingMaxFrameRate);
+        }
+        return settlingAnimation;
     }
 
     void setListener(HorizontalWheelView.Listener listener) {
         this.listener = listener;
     }
 
+    void setStatsRecorder(StatsRecorder statsRecorder) {
+        this.statsRecorder = statsRecorder;
+        if (settlingAnimation != null) {
+            settlingAnimation.setStatsRecorder(statsRecorder);
+        }
+    }
+
+    void setCoordinator(WheelCoordinator coordinator) {
+        this.coordinator = coordinator;
+        if (settlingAnimation != null) {
+            settlingAnimation.setCoordinator(coordinator);
+        }
+    }
+
+    void reset() {
+        scrollState = SCROLL_STATE_IDLE;
+        cancelFling();
+    }
+
+    void setBounceEnabled(boolean enabled) {
+        bounceEnabled = enabled;
+    }
+
+    void setScrollAngleMultiplier(double multiplier) {
+        scrollAngleMultiplier = multiplier;
+    }
+
+    void setFlingAngleMultiplier(double multiplier) {
+        flingAngleMultiplier = multiplier;
+    }
+
+    void setLowLatencyEnabled(boolean enabled) {
+        lowLatencyEnabled = enabled;
+        if (!enabled && velocityTracker != null) {
+            velocityTracker.recycle();
+            velocityTracker = null;
+        }
+    }
+
+    void setPredictionEnabled(boolean enabled) {
+        predictionEnabled = enabled;
+    }
+
+    void setSettlingMaxFrameRate(int framesPerSecond) {
+        settlingMaxFrameRate = framesPerSecond;
+        if (settlingAnimation != null) {
+            settlingAnimation.setMaxFrameRate(framesPerSecond);
+        }
+    }
+
     void setSnapToMarks(boolean snapToMarks) {
         this.snapToMarks = snapToMarks;
     }
 
+    int getScrollState() {
+        return scrollState;
+    }
+
+    boolean isSnapToMarks() {
+        return snapToMarks;
+    }
+
+    boolean isBounceEnabled() {
+        return bounceEnabled;
+    }
+
+    boolean isLowLatencyEnabled() {
+        return lowLatencyEnabled;
+    }
+
+    boolean isPredictionEnabled() {
+        return predictionEnabled;
+    }
+
+    SettlingAnimation getSettlingAnimation() {
+        return settlingAnimation;
+    }
+
+    void resumeSettling(double startAngle, double endAngle, long durationNanos, double exponent, long elapsedNanos,
+            double stopAngle) {
+        updateScrollStateIfRequired(SCROLL_STATE_SETTLING);
+        obtainSettlingAnimation().resume(startAngle, endAngle, durationNanos, exponent, elapsedNanos);
+        settlingAnimation.stopAt(stopAngle);
+    }
+
+    void resumeBounce(double endAngle, double velocity) {
+        bounceEndAngle = endAngle;
+        bounceVelocity = velocity;
+        bouncePending = true;
+    }
+
+    boolean isBouncePending() {
+        return bouncePending;
+    }
+
+    double getBounceEndAngle() {
+        return bounceEndAngle;
+    }
+
+    double getBounceVelocity() {
+        return bounceVelocity;
+    }
+
     boolean onTouchEvent(MotionEvent event) {
+        if (gestureDetector == null) {
+            initGestureDetector();
+        }
         gestureDetector.onTouchEvent(event);
         int action = event.getActionMasked();
+        if (lowLatencyEnabled) {
+            trackMotion(event, action);
+        }
         if (scrollState != SCROLL_STATE_SETTLING
                 && (action == MotionEvent.ACTION_UP || action == MotionEvent.ACTION_CANCEL)) {
-            if (snapToMarks) {
-                playSettlingAnimation(findNearestMarkAngle(view.getRadiansAngle()));
+            if (shouldSnap()) {
+                double endAngle = view.clampToBounds(findNearestMarkAngle(view.getRadiansAngle()));
+                playSettlingAnimation(endAngle, 0, -1);
             } else {
                 updateScrollStateIfRequired(SCROLL_STATE_IDLE);
             }
@@ -54,6 +194,67 @@ class TouchHandler extends GestureDetector.SimpleOnGestureListener {
         return true;
     }
 
+    private void trackMotion(MotionEvent event, int action) {
+        if (velocityTracker == null) {
+            velocityTracker = VelocityTracker.obtain();
+            predictor = new MotionPredictor();
+        }
+        if (action == MotionEvent.ACTION_DOWN) {
+            velocityTracker.clear();
+            predictor.reset();
+            appliedPrediction = 0;
+            lastX = event.getX();
+            float refreshRate = view.getRefreshRate();
+            predictionHorizonMillis = refreshRate > 0 ? 1000 / refreshRate : DEFAULT_FRAME_INTERVAL_MILLIS;
+        }
+        velocityTracker.addMovement(event);
+        if (action == MotionEvent.ACTION_POINTER_DOWN || action == MotionEvent.ACTION_POINTER_UP) {
+            rebaseLastX = true;
+            predictor.reset();
+        } else if (action == MotionEvent.ACTION_MOVE) {
+            onMove(event);
+        } else if (action == MotionEvent.ACTION_UP || action == MotionEvent.ACTION_CANCEL) {
+            if (appliedPrediction != 0) {
+                applyAngle(view.getRadiansAngle(), 0);
+            }
+            if (action == MotionEvent.ACTION_UP) {
+                velocityTracker.computeCurrentVelocity(1000, maxFlingVelocity);
+                float velocityX = velocityTracker.getXVelocity();
+                if (Math.abs(velocityX) >= minFlingVelocity) {
+                    fling(velocityX, event.getEventTime());
+                }
+            }
+        }
+    }
+
+    private void onMove(MotionEvent event) {
+        if (rebaseLastX) {
+            rebaseLastX = false;
+            lastX = event.getX();
+            return;
+        }
+        int historySize = event.getHistorySize();
+        for (int h = 0; h < historySize; h++) {
+            predictor.addSample(event.getHistoricalEventTime(h), event.getHistoricalX(h));
+        }
+        predictor.addSample(event.getEventTime(), event.getX());
+        float distanceX = lastX - event.getX();
+        lastX = event.getX();
+        double prediction = 0;
+        if (predictionEnabled) {
+            prediction = -predictor.predict(predictionHorizonMillis) * scrollAngleMultiplier;
+        }
+        applyAngle(view.getRadiansAngle() + distanceX * scrollAngleMultiplier, prediction);
+        if (distanceX != 0) {
+            updateScrollStateIfRequired(SCROLL_STATE_DRAGGING);
+        }
+    }
+
+    private void applyAngle(double angle, double prediction) {
+        view.setRadiansAngle(angle - appliedPrediction + prediction);
+        appliedPrediction = prediction;
+    }
+
     @Override
     public boolean onDown(MotionEvent e) {
         cancelFling();
@@ -61,65 +262,119 @@ class TouchHandler extends GestureDetector.SimpleOnGestureListener {
     }
 
     void cancelFling() {
-        if (scrollState == SCROLL_STATE_SETTLING) {
-            settlingAnimator.cancel();
+        bouncePending = false;
+        if (settlingAnimation != null) {
+            settlingAnimation.cancel();
         }
     }
 
     @Override
     public boolean onScroll(MotionEvent e1, MotionEvent e2, float distanceX, float distanceY) {
-        double newAngle = view.getRadiansAngle() + distanceX * SCROLL_ANGLE_MULTIPLIER;
+        if (lowLatencyEnabled) {
+            return true;
+        }
+        double newAngle = view.getRadiansAngle() + distanceX * scrollAngleMultiplier;
         view.setRadiansAngle(newAngle);
         updateScrollStateIfRequired(SCROLL_STATE_DRAGGING);
         return true;
     }
 
     private void updateScrollStateIfRequired(int newState) {
-        if (listener != null && scrollState != newState) {
+        if (scrollState != newState) {
+            int oldState = scrollState;
             scrollState = newState;
-            listener.onScrollStateChanged(newState);
+            view.onTouchScrollStateChanged(oldState, newState);
+            if (listener != null) {
+                listener.onScrollStateChanged(newState);
+            }
         }
     }
 
     @Override
     public boolean onFling(MotionEvent e1, MotionEvent e2, float velocityX, float velocityY) {
-        double endAngle = view.getRadiansAngle() - velocityX * FLING_ANGLE_MULTIPLIER;
-        if (snapToMarks) {
-            endAngle = (float) findNearestMarkAngle(endAngle);
+        if (!lowLatencyEnabled) {
+            fling(velocityX, e2.getEventTime());
+        }
+        return true;
+    }
+
+    private void fling(float velocityX, long eventTimeMillis) {
+        double endAngle = view.getRadiansAngle() - velocityX * flingAngleMultiplier;
+        double angularVelocity = -velocityX * scrollAngleMultiplier;
+        long startTimeNanos = eventTimeMillis * NANOS_PER_MILLI;
+        double boundedEndAngle = view.clampToBounds(endAngle);
+        if (boundedEndAngle != endAngle && bounceEnabled
+                && playBounceAnimation(endAngle, boundedEndAngle, angularVelocity, startTimeNanos)) {
+            return;
+        }
+        endAngle = boundedEndAngle;
+        if (shouldSnap()) {
+            endAngle = view.clampToBounds(findNearestMarkAngle(endAngle));
+        }
+        playSettlingAnimation(endAngle, angularVelocity, startTimeNanos);
+    }
+
+    private boolean playBounceAnimation(double endAngle, double wallAngle, double velocity, long startTimeNanos) {
+        double startAngle = view.getRadiansAngle();
+        long duration = SettlingCurve.calcDurationNanos(endAngle - startAngle, velocity,
+                MIN_SETTLING_DURATION_NANOS, MAX_SETTLING_DURATION_NANOS);
+        if (duration < 0 || startAngle == wallAngle) {
+            return false;
         }
-        playSettlingAnimation(endAngle);
+        updateScrollStateIfRequired(SCROLL_STATE_SETTLING);
+        double exponent = SettlingCurve.calcExponent(endAngle - startAngle, velocity, duration);
+        obtainSettlingAnimation().start(startAngle, endAngle, duration, exponent, startTimeNanos);
+        long hitNanos = settlingAnimation.stopAt(wallAngle);
+        bounceVelocity = -settlingAnimation.getVelocity(hitNanos) * BOUNCE_RESTITUTION;
+        bounceEndAngle = wallAngle - (endAngle - wallAngle) * BOUNCE_RESTITUTION;
+        if (shouldSnap()) {
+            bounceEndAngle = view.clampToBounds(findNearestMarkAngle(bounceEndAngle));
+        }
+        bouncePending = true;
         return true;
     }
 
+    boolean shouldSnap() {
+        return snapToMarks || view.isDiscreteValuesEnabled();
+    }
+
     private double findNearestMarkAngle(double angle) {
-        double step = 2 * PI / view.getMarksCount();
-        return Math.round(angle / step) * step;
+        return view.findNearestSnapAngle(angle);
     }
 
-    private void playSettlingAnimation(double endAngle) {
+    private void playSettlingAnimation(double endAngle, double velocity, long startTimeNanos) {
         updateScrollStateIfRequired(SCROLL_STATE_SETTLING);
         double startAngle = view.getRadiansAngle();
-        int duration = (int) (Math.abs(startAngle - endAngle) * SETTLING_DURATION_MULTIPLIER);
-        settlingAnimator = ValueAnimator.ofFloat((float) startAngle, (float) endAngle)
-                .setDuration(duration);
-        settlingAnimator.setInterpolator(INTERPOLATOR);
-        settlingAnimator.addUpdateListener(flingAnimatorListener);
-        settlingAnimator.addListener(animatorListener);
-        settlingAnimator.start();
+        long duration = SettlingCurve.calcDurationNanos(endAngle - startAngle, velocity,
+                MIN_SETTLING_DURATION_NANOS, MAX_SETTLING_DURATION_NANOS);
+        if (duration < 0) {
+            duration = (long) (Math.abs(startAngle - endAngle) * SETTLING_DURATION_MULTIPLIER) * NANOS_PER_MILLI;
+            startTimeNanos = -1;
+        }
+        double exponent = SettlingCurve.calcExponent(endAngle - startAngle, velocity, duration);
+        obtainSettlingAnimation().start(startAngle, endAngle, duration, exponent, startTimeNanos);
     }
 
-    private ValueAnimator.AnimatorUpdateListener flingAnimatorListener = new ValueAnimator.AnimatorUpdateListener() {
-        @Override
-        public void onAnimationUpdate(ValueAnimator animation) {
-            view.setRadiansAngle((float) animation.getAnimatedValue());
-        }
-    };
+    @Override
+    public void onSettlingUpdate(double angle) {
+        view.setRadiansAngle(angle);
+    }
 
-    private Animator.AnimatorListener animatorListener = new AnimatorListenerAdapter() {
-        @Override
-        public void onAnimationEnd(Animator animation) {
-            updateScrollStateIfRequired(SCROLL_STATE_IDLE);
+    @Override
+    public void onSettlingEnd() {
+        if (bouncePending) {
+            bouncePending = false;
+            double startAngle = view.getRadiansAngle();
+            long duration = SettlingCurve.calcDurationNanos(bounceEndAngle - startAngle, bounceVelocity,
+                    MIN_SETTLING_DURATION_NANOS, MAX_SETTLING_DURATION_NANOS);
+            if (duration >= 0) {
+                double exponent = SettlingCurve.calcExponent(bounceEndAngle - startAngle, bounceVelocity, duration);
+                settlingAnimation.start(startAngle, bounceEndAngle, duration, exponent,
+                        settlingAnimation.getStopTimeNanos());
+                return;
+            }
         }
-    };
+        updateScrollStateIfRequired(SCROLL_STATE_IDLE);
+    }
 
 }
@@ -0,0 +1,41 @@
+package com.github.shchurov.horizontalwheelview;
+
+import static java.lang.Math.cos;
+import static java.lang.Math.sin;
+
+class TrigTable {
+
+    private final double step;
+    private final double[] sines;
+    private final double[] cosines;
+    private final double[] midSines;
+    private final double[] midCosines;
+
+    TrigTable(double step, int size) {
+        this.step = step;
+        sines = new double[size];
+        cosines = new double[size];
+        midSines = new double[size];
+        midCosines = new double[size];
+        for (int i = 0; i < size; i++) {
+            double angle = i * step;
+            sines[i] = sin(angle);
+            cosines[i] = cos(angle);
+            midSines[i] = sin(angle + step / 2);
+            midCosines[i] = cos(angle + step / 2);
+        }
+    }
+
+    boolean matches(double step, int size) {
+        return this.step == step && sines.length == size;
+    }
+
+    double sinAt(int index, double offsetSin, double offsetCos) {
+        return offsetSin * cosines[index] + offsetCos * sines[index];
+    }
+
+    double sinBetween(int index, double offsetSin, double offsetCos) {
+        return offsetSin * midCosines[index] + offsetCos * midSines[index];
+    }
+
+}
@@ -3,6 +3,7 @@ package com.github.shchurov.horizontalwheelview;
 import android.content.res.Resources;
 import android.util.DisplayMetrics;
 import android.util.TypedValue;
+import android.view.View.MeasureSpec;
 
 class Utils {
 
@@ -11,4 +12,15 @@ class Utils {
         return (int) TypedValue.applyDimension(TypedValue.COMPLEX_UNIT_DIP, dp, dm);
     }
 
+    static int resolveMeasureSpec(int measureSpec, int defaultSize) {
+        int mode = MeasureSpec.getMode(measureSpec);
+        if (mode == MeasureSpec.EXACTLY) {
+            return measureSpec;
+        }
+        if (mode == MeasureSpec.AT_MOST) {
+            defaultSize = Math.min(defaultSize, MeasureSpec.getSize(measureSpec));
+        }
+        return MeasureSpec.makeMeasureSpec(defaultSize, MeasureSpec.EXACTLY);
+    }
+
 }
@@ -0,0 +1,88 @@
+package com.github.shchurov.horizontalwheelview;
+
+import static java.lang.Math.PI;
+
+class ValueModel {
+
+    static final int MAX_VALUES_COUNT = 1 << 16;
+
+    private int minValue;
+    private int maxValue;
+    private int step = 1;
+    private double markStep;
+    private double[] angles = new double[0];
+
+    static void checkRange(int minValue, int maxValue, int step, int marksCount, boolean onlyPositiveValues) {
+        if (step <= 0) {
+            throw new IllegalArgumentException("step must be positive");
+        }
+        if (maxValue < minValue) {
+            throw new IllegalArgumentException("maxValue must not be less than minValue");
+        }
+        if (onlyPositiveValues && minValue < 0) {
+            throw new IllegalArgumentException("minValue must not be negative when only positive values are allowed");
+        }
+        long limit = (long) step * marksCount;
+        if (Math.abs((long) minValue) >= limit || Math.abs((long) maxValue) >= limit) {
+            throw new IllegalArgumentException("|value / step| must be less than marksCount (" + marksCount + ")");
+        }
+        if (((long) maxValue - minValue) / step >= MAX_VALUES_COUNT) {
+            throw new IllegalArgumentException("the range must not contain more than " + MAX_VALUES_COUNT + " values");
+        }
+    }
+
+    void setup(int minValue, int maxValue, int step, int marksCount) {
+        this.minValue = minValue;
+        this.maxValue = maxValue;
+        this.step = step;
+        markStep = 2 * PI / marksCount;
+        int count = (int) (((long) maxValue - minValue) / step + 1);
+        if (angles.length != count) {
+            angles = new double[count];
+        }
+        for (int i = 0; i < count; i++) {
+            angles[i] = (double) (minValue + i * step) / step * markStep;
+        }
+    }
+
+    void setMarksCount(int marksCount) {
+        setup(minValue, maxValue, step, marksCount);
+    }
+
+    int getMinValue() {
+        return minValue;
+    }
+
+    int getMaxValue() {
+        return maxValue;
+    }
+
+    int getStep() {
+        return step;
+    }
+
+    int getValue(int index) {
+        return minValue + index * step;
+    }
+
+    int findIndex(int value) {
+        return clampIndex((int) Math.round((double) (value - minValue) / step));
+    }
+
+    int findNearestIndex(double angle) {
+        return clampIndex((int) Math.round((angle - angles[0]) / markStep));
+    }
+
+    private int clampIndex(int index) {
+        return Math.max(0, Math.min(angles.length - 1, index));
+    }
+
+    double getAngle(int index) {
+        return angles[index];
+    }
+
+    double clampAngle(double angle) {
+        return Math.max(angles[0], Math.min(angles[angles.length - 1], angle));
+    }
+
+}
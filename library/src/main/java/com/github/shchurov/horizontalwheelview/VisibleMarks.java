@@ -0,0 +1,76 @@
+package com.github.shchurov.horizontalwheelview;
+
+public final class VisibleMarks {
+
+    private int[] indices = new int[0];
+    private float[] xs = new float[0];
+    private float[] scales = new float[0];
+    private float[] shades = new float[0];
+    private int count;
+    private int marksCount;
+    private int top;
+    private int bottom;
+
+    VisibleMarks() {
+    }
+
+    void setCapacity(int capacity) {
+        indices = new int[capacity];
+        xs = new float[capacity];
+        scales = new float[capacity];
+        shades = new float[capacity];
+        count = 0;
+    }
+
+    int getCapacity() {
+        return indices.length;
+    }
+
+    void clear(int marksCount, int top, int bottom) {
+        this.marksCount = marksCount;
+        this.top = top;
+        this.bottom = bottom;
+        count = 0;
+    }
+
+    void add(int markIndex, float x, float scale, float shade) {
+        indices[count] = markIndex;
+        xs[count] = x;
+        scales[count] = scale;
+        shades[count] = shade;
+        count++;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public int getMarksCount() {
+        return marksCount;
+    }
+
+    public int getMarkIndex(int i) {
+        return indices[i];
+    }
+
+    public float getX(int i) {
+        return xs[i];
+    }
+
+    public float getScale(int i) {
+        return scales[i];
+    }
+
+    public float getShade(int i) {
+        return shades[i];
+    }
+
+    public int getTop() {
+        return top;
+    }
+
+    public int getBottom() {
+        return bottom;
+    }
+
+}
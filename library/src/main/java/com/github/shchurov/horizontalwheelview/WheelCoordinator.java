@@ -0,0 +1,88 @@
+package com.github.shchurov.horizontalwheelview;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public final class WheelCoordinator {
+
+    private static final int MAX_CURSOR_LAYERS_COUNT = 8;
+
+    private FrameScheduler scheduler = FrameScheduler.create(new FrameScheduler.Callback() {
+        @Override
+        public void onFrame(long frameTimeNanos) {
+            dispatchFrame(frameTimeNanos);
+        }
+    });
+    private List<FrameScheduler> postedMembers = new ArrayList<>();
+    private List<FrameScheduler> dispatchingMembers = new ArrayList<>();
+    private GeometryCache geometryCache = new GeometryCache();
+    private RenderScratch renderScratch = new RenderScratch();
+    private List<CursorLayer> cursorLayers = new ArrayList<>();
+
+    FrameScheduler createScheduler(FrameScheduler.Callback callback) {
+        return new MemberScheduler(callback);
+    }
+
+    GeometryCache getGeometryCache() {
+        return geometryCache;
+    }
+
+    RenderScratch getRenderScratch() {
+        return renderScratch;
+    }
+
+    CursorLayer obtainCursorLayer(int width, int height, float cornersRadius, int color) {
+        for (int i = 0; i < cursorLayers.size(); i++) {
+            CursorLayer layer = cursorLayers.get(i);
+            if (layer.isBuiltFor(width, height, cornersRadius, color)) {
+                return layer;
+            }
+        }
+        if (cursorLayers.size() == MAX_CURSOR_LAYERS_COUNT) {
+            cursorLayers.remove(0);
+        }
+        CursorLayer layer = new CursorLayer();
+        cursorLayers.add(layer);
+        return layer;
+    }
+
+    void dispatchFrame(long frameTimeNanos) {
+        List<FrameScheduler> members = postedMembers;
+        postedMembers = dispatchingMembers;
+        dispatchingMembers = members;
+        for (int i = 0; i < members.size(); i++) {
+            FrameScheduler member = members.get(i);
+            if (member != null) {
+                member.dispatchFrame(frameTimeNanos);
+            }
+        }
+        members.clear();
+    }
+
+    private class MemberScheduler extends FrameScheduler {
+
+        MemberScheduler(Callback callback) {
+            super(callback);
+        }
+
+        @Override
+        void schedule() {
+            postedMembers.add(this);
+            scheduler.postFrame();
+        }
+
+        @Override
+        void unschedule() {
+            postedMembers.remove(this);
+            int index = dispatchingMembers.indexOf(this);
+            if (index != -1) {
+                dispatchingMembers.set(index, null);
+            }
+            if (postedMembers.isEmpty()) {
+                scheduler.cancel();
+            }
+        }
+
+    }
+
+}
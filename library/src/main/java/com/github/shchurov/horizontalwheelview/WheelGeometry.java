@@ -0,0 +1,269 @@
+package com.github.shchurov.horizontalwheelview;
+
+import java.util.Arrays;
+
+import static java.lang.Math.PI;
+import static java.lang.Math.cos;
+import static java.lang.Math.sin;
+
+class WheelGeometry {
+
+    static final float SHADE_RANGE = 0.7f;
+    static final float SCALE_RANGE = 0.1f;
+    private static final int MAX_SPACING_FACTOR = 4;
+
+    private int marksCount;
+    private int renderedMarksCount;
+    private int maxVisibleMarksCount;
+    private int width;
+    private boolean levelOfDetailEnabled;
+    private float minMarksSpacing;
+    private int renderStride = 1;
+    private int majorTierRatio = 1;
+    private float minorTierFade = 1;
+    private int firstMarkIndex;
+    private boolean showActiveRange;
+    private float[] gaps;
+    private float[] shades;
+    private float[] scales;
+    private int[] colorSwitches = {-1, -1, -1};
+    private int zeroIndex;
+    private TrigTable trigTable;
+    private GeometryCache cache;
+    private boolean trigTableEnabled = true;
+    private double offsetSin;
+    private double offsetCos;
+
+    void setMarksCount(int marksCount) {
+        this.marksCount = marksCount;
+        setupLevelOfDetail(true);
+    }
+
+    void setWidth(int width) {
+        this.width = width;
+        setupLevelOfDetail(false);
+    }
+
+    void setLevelOfDetail(boolean enabled, float minMarksSpacing) {
+        levelOfDetailEnabled = enabled;
+        this.minMarksSpacing = minMarksSpacing;
+        setupLevelOfDetail(false);
+    }
+
+    private void setupLevelOfDetail(boolean force) {
+        if (marksCount == 0) {
+            return;
+        }
+        int stride = 1;
+        int majorStride = 1;
+        minorTierFade = 1;
+        if (levelOfDetailEnabled && width > 0 && minMarksSpacing > 0) {
+            stride = findStride(1, minMarksSpacing / 2);
+            if (calcMarksSpacing(stride) > MAX_SPACING_FACTOR * minMarksSpacing) {
+                stride = 1;
+            }
+            majorStride = stride;
+            float spacing = calcMarksSpacing(stride);
+            if (spacing < minMarksSpacing) {
+                majorStride = findStride(stride, minMarksSpacing);
+                if (calcMarksSpacing(majorStride) > MAX_SPACING_FACTOR * minMarksSpacing) {
+                    majorStride = stride;
+                } else {
+                    minorTierFade = Math.max(0, (spacing - minMarksSpacing / 2) / (minMarksSpacing / 2));
+                }
+            }
+        }
+        majorTierRatio = majorStride / stride;
+        if (force || stride != renderStride) {
+            renderStride = stride;
+            allocate();
+        }
+    }
+
+    private int findStride(int base, float minSpacing) {
+        for (int stride = base; stride < marksCount; stride += base) {
+            if (marksCount % stride == 0 && calcMarksSpacing(stride) >= minSpacing) {
+                return stride;
+            }
+        }
+        return marksCount;
+    }
+
+    private float calcMarksSpacing(int stride) {
+        return 2f * width * stride / marksCount;
+    }
+
+    private void allocate() {
+        renderedMarksCount = marksCount / renderStride;
+        maxVisibleMarksCount = (renderedMarksCount / 2) + 1;
+        gaps = new float[maxVisibleMarksCount];
+        shades = new float[maxVisibleMarksCount];
+        scales = new float[maxVisibleMarksCount];
+        if (cache != null) {
+            trigTable = cache.obtainTrigTable(getStep(), maxVisibleMarksCount);
+        } else {
+            trigTable = new TrigTable(getStep(), maxVisibleMarksCount);
+        }
+    }
+
+    void setCache(GeometryCache cache) {
+        this.cache = cache;
+        if (marksCount != 0) {
+            allocate();
+        }
+    }
+
+    void setShowActiveRange(boolean show) {
+        showActiveRange = show;
+    }
+
+    void setTrigTableEnabled(boolean enabled) {
+        trigTableEnabled = enabled;
+    }
+
+    int getMarksCount() {
+        return marksCount;
+    }
+
+    double getStep() {
+        return 2 * PI / renderedMarksCount;
+    }
+
+    boolean isMinorTierMark(int index) {
+        return majorTierRatio > 1 && (firstMarkIndex + index) % majorTierRatio != 0;
+    }
+
+    int getMarkIndex(int index) {
+        int markIndex = (int) ((long) (firstMarkIndex + index) * renderStride % marksCount);
+        return markIndex < 0 ? markIndex + marksCount : markIndex;
+    }
+
+    float getMinorTierFade() {
+        return minorTierFade;
+    }
+
+    int getMaxVisibleMarksCount() {
+        return maxVisibleMarksCount;
+    }
+
+    float[] getGaps() {
+        return gaps;
+    }
+
+    float[] getShades() {
+        return shades;
+    }
+
+    float[] getScales() {
+        return scales;
+    }
+
+    int[] getColorSwitches() {
+        return colorSwitches;
+    }
+
+    int getZeroIndex() {
+        return zeroIndex;
+    }
+
+    void update(double angle) {
+        double step = getStep();
+        double offset = (PI / 2 - angle) % step;
+        if (offset < 0) {
+            offset += step;
+        }
+        firstMarkIndex = (int) Math.round((offset - PI / 2 + angle) / step);
+        if (trigTableEnabled) {
+            offsetSin = sin(offset);
+            offsetCos = cos(offset);
+        }
+        setupGaps(step, offset, width);
+        setupShadesAndScales(step, offset);
+        zeroIndex = calcZeroIndex(angle, step);
+        setupColorSwitches(angle, step, offset, zeroIndex);
+    }
+
+    void setupGaps(double step, double offset, int width) {
+        gaps[0] = (float) sin(offset / 2);
+        float sum = gaps[0];
+        double angle = offset;
+        int n = 1;
+        while (angle + step <= PI) {
+            gaps[n] = (float) (trigTableEnabled
+                    ? trigTable.sinBetween(n - 1, offsetSin, offsetCos)
+                    : sin(angle + step / 2));
+            sum += gaps[n];
+            angle += step;
+            n++;
+        }
+        float lastGap = (float) sin((PI + angle) / 2);
+        sum += lastGap;
+        if (n != gaps.length) {
+            gaps[n] = -1;
+        }
+        float k = width / sum;
+        for (int i = 0; i < n; i++) {
+            gaps[i] *= k;
+        }
+    }
+
+    void setupShadesAndScales(double step, double offset) {
+        double angle = offset;
+        for (int i = 0; i < maxVisibleMarksCount; i++) {
+            double sin = trigTableEnabled ? trigTable.sinAt(i, offsetSin, offsetCos) : sin(angle);
+            shades[i] = (float) (1 - SHADE_RANGE * (1 - sin));
+            scales[i] = (float) (1 - SCALE_RANGE * (1 - sin));
+            angle += step;
+        }
+    }
+
+    int calcZeroIndex(double angle, double step) {
+        double twoPi = 2 * PI;
+        double normalizedAngle = (angle + PI / 2 + twoPi) % twoPi;
+        if (normalizedAngle > PI) {
+            return -1;
+        }
+        return (int) ((PI - normalizedAngle) / step);
+    }
+
+    void setupColorSwitches(double angle, double step, double offset, int zeroIndex) {
+        if (!showActiveRange) {
+            Arrays.fill(colorSwitches, -1);
+            return;
+        }
+        int afterMiddleIndex = 0;
+        if (offset < PI / 2) {
+            afterMiddleIndex = (int) ((PI / 2 - offset) / step) + 1;
+        }
+        if (angle > 3 * PI / 2) {
+            colorSwitches[0] = 0;
+            colorSwitches[1] = afterMiddleIndex;
+            colorSwitches[2] = zeroIndex;
+        } else if (angle >= 0) {
+            colorSwitches[0] = Math.max(0, zeroIndex);
+            colorSwitches[1] = afterMiddleIndex;
+            colorSwitches[2] = -1;
+        } else if (angle < -3 * PI / 2) {
+            colorSwitches[0] = 0;
+            colorSwitches[1] = zeroIndex;
+            colorSwitches[2] = afterMiddleIndex;
+        } else if (angle < 0) {
+            colorSwitches[0] = afterMiddleIndex;
+            colorSwitches[1] = zeroIndex;
+            colorSwitches[2] = -1;
+        }
+    }
+
+    static int applyShade(int color, float shade) {
+        int r = (int) (((color >> 16) & 0xff) * shade);
+        int g = (int) (((color >> 8) & 0xff) * shade);
+        int b = (int) ((color & 0xff) * shade);
+        return (color & 0xff000000) | (r << 16) | (g << 8) | b;
+    }
+
+    static double findNearestMarkAngle(double angle, int marksCount) {
+        double step = 2 * PI / marksCount;
+        return Math.round(angle / step) * step;
+    }
+
+}
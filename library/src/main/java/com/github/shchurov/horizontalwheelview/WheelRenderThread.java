@@ -0,0 +1,458 @@
+package com.github.shchurov.horizontalwheelview;
+
+import android.annotation.TargetApi;
+import android.content.Context;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.Paint;
+import android.graphics.PorterDuff;
+import android.graphics.RectF;
+import android.graphics.SurfaceTexture;
+import android.os.Build;
+import android.os.Handler;
+import android.os.HandlerThread;
+import android.os.Looper;
+import android.os.Process;
+import android.view.Surface;
+import android.view.ViewConfiguration;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static com.github.shchurov.horizontalwheelview.HorizontalWheelView.SCROLL_STATE_DRAGGING;
+import static com.github.shchurov.horizontalwheelview.HorizontalWheelView.SCROLL_STATE_IDLE;
+import static com.github.shchurov.horizontalwheelview.HorizontalWheelView.SCROLL_STATE_SETTLING;
+import static com.github.shchurov.horizontalwheelview.TouchHandler.FLING_ANGLE_MULTIPLIER;
+import static com.github.shchurov.horizontalwheelview.TouchHandler.MAX_SETTLING_DURATION_NANOS;
+import static com.github.shchurov.horizontalwheelview.TouchHandler.MIN_SETTLING_DURATION_NANOS;
+import static com.github.shchurov.horizontalwheelview.TouchHandler.NANOS_PER_MILLI;
+import static com.github.shchurov.horizontalwheelview.TouchHandler.SCROLL_ANGLE_MULTIPLIER;
+import static com.github.shchurov.horizontalwheelview.TouchHandler.SETTLING_DURATION_MULTIPLIER;
+import static java.lang.Math.PI;
+
+class WheelRenderThread extends HandlerThread implements FrameScheduler.Callback {
+
+    private static final String NAME = "HorizontalWheelRenderThread";
+    private static final long MAX_START_DELAY_NANOS = 100 * NANOS_PER_MILLI;
+    private static final int MILLIS_PER_SECOND = 1000;
+
+    interface Listener {
+        void onRenderThreadUpdate(double angle, int scrollState, int angleSequence);
+    }
+
+    private final Listener listener;
+    private final Handler uiHandler = new Handler(Looper.getMainLooper());
+    private final TouchEventQueue touchEvents = new TouchEventQueue();
+    private final AtomicBoolean wakePosted = new AtomicBoolean();
+    private final AtomicBoolean publishPosted = new AtomicBoolean();
+    private volatile double publishedAngle;
+    private volatile int publishedScrollState;
+    private volatile int publishedAngleSequence;
+    private Handler handler;
+    private FrameScheduler scheduler;
+
+    private final int cursorWidth;
+    private final int cursorCornersRadius;
+    private final int touchSlop;
+    private final int minFlingVelocity;
+    private final int maxFlingVelocity;
+    private Paint paint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    private MarksRenderer renderer = new MarksRenderer();
+    private RenderScratch scratch = new RenderScratch();
+    private CursorLayer cursorLayer = new CursorLayer();
+    private RectF cursorRect = new RectF();
+    private SurfaceTexture surfaceTexture;
+    private Surface surface;
+    private int width;
+    private int activeColor;
+    private boolean snapToMarks;
+    private boolean endLock;
+    private boolean onlyPositiveValues;
+    private boolean frameDirty;
+    private boolean published = true;
+    private double angle;
+    private int angleSequence;
+    private int scrollState = SCROLL_STATE_IDLE;
+    private boolean dragging;
+    private float downX;
+    private float lastX;
+    private boolean rebaseLastX;
+    private boolean awaitingDown;
+    private MotionPredictor velocityEstimator = new MotionPredictor();
+    private SettlingCurve settlingCurve = new SettlingCurve();
+    private boolean settling;
+    private long settlingStartNanos;
+    private long requestedSettlingStartNanos;
+
+    private final Runnable wakeRunnable = new Runnable() {
+        @Override
+        public void run() {
+            wakePosted.set(false);
+            scheduler.postFrame();
+        }
+    };
+
+    private final Runnable publishRunnable = new Runnable() {
+        @Override
+        public void run() {
+            publishPosted.set(false);
+            int angleSequence = publishedAngleSequence;
+            listener.onRenderThreadUpdate(publishedAngle, publishedScrollState, angleSequence);
+        }
+    };
+
+    WheelRenderThread(Context context, WheelStyle style, Listener listener) {
+        super(NAME, Process.THREAD_PRIORITY_DISPLAY);
+        this.listener = listener;
+        renderer.setCommands(scratch.getCommands());
+        renderer.setBatchingEnabled(true);
+        renderer.setMarkWidths(style.normalMarkWidth, style.zeroMarkWidth);
+        cursorWidth = style.cursorWidth;
+        cursorCornersRadius = style.cursorCornersRadius;
+        ViewConfiguration configuration = ViewConfiguration.get(context);
+        touchSlop = configuration.getScaledTouchSlop();
+        minFlingVelocity = configuration.getScaledMinimumFlingVelocity();
+        maxFlingVelocity = configuration.getScaledMaximumFlingVelocity();
+    }
+
+    void startRendering() {
+        start();
+        handler = new Handler(getLooper());
+        scheduler = FrameScheduler.createForLooper(this, getLooper());
+    }
+
+    void quitRendering() {
+        handler.post(new Runnable() {
+            @Override
+            public void run() {
+                scheduler.cancel();
+                releaseSurface();
+                getLooper().quit();
+            }
+        });
+    }
+
+    void setSurface(final SurfaceTexture surfaceTexture, final int width, final int height, final int paddingLeft,
+            final int paddingTop, final int paddingBottom) {
+        handler.post(new Runnable() {
+            @Override
+            public void run() {
+                releaseSurface();
+                WheelRenderThread.this.surfaceTexture = surfaceTexture;
+                surface = new Surface(surfaceTexture);
+                setupViewport(width, height, paddingLeft, paddingTop, paddingBottom);
+                requestFrame();
+            }
+        });
+    }
+
+    void setSize(final int width, final int height, final int paddingLeft, final int paddingTop,
+            final int paddingBottom) {
+        handler.post(new Runnable() {
+            @Override
+            public void run() {
+                setupViewport(width, height, paddingLeft, paddingTop, paddingBottom);
+                requestFrame();
+            }
+        });
+    }
+
+    void setMarksCount(final int marksCount) {
+        handler.post(new Runnable() {
+            @Override
+            public void run() {
+                renderer.setMarksCount(marksCount);
+                requestFrame();
+            }
+        });
+    }
+
+    void setColors(final int normalColor, final int activeColor) {
+        handler.post(new Runnable() {
+            @Override
+            public void run() {
+                renderer.setNormalColor(normalColor);
+                renderer.setActiveColor(activeColor);
+                WheelRenderThread.this.activeColor = activeColor;
+                requestFrame();
+            }
+        });
+    }
+
+    void setShowActiveRange(final boolean show) {
+        handler.post(new Runnable() {
+            @Override
+            public void run() {
+                renderer.getGeometry().setShowActiveRange(show);
+                requestFrame();
+            }
+        });
+    }
+
+    void setSnapToMarks(final boolean snapToMarks) {
+        handler.post(new Runnable() {
+            @Override
+            public void run() {
+                WheelRenderThread.this.snapToMarks = snapToMarks;
+            }
+        });
+    }
+
+    void setAngleLimits(final boolean endLock, final boolean onlyPositiveValues) {
+        handler.post(new Runnable() {
+            @Override
+            public void run() {
+                WheelRenderThread.this.endLock = endLock;
+                WheelRenderThread.this.onlyPositiveValues = onlyPositiveValues;
+                updateAngle(angle);
+                requestFrame();
+            }
+        });
+    }
+
+    void setAngle(final double radians, final int angleSequence) {
+        handler.post(new Runnable() {
+            @Override
+            public void run() {
+                WheelRenderThread.this.angleSequence = angleSequence;
+                settling = false;
+                dragging = false;
+                updateAngle(radians);
+                updateScrollState(SCROLL_STATE_IDLE);
+                requestFrame();
+            }
+        });
+    }
+
+    void enqueueTouchEvent(int action, float x, long eventTimeMillis) {
+        touchEvents.offer(action, x, eventTimeMillis);
+    }
+
+    void wake() {
+        if (wakePosted.compareAndSet(false, true)) {
+            handler.post(wakeRunnable);
+        }
+    }
+
+    private void releaseSurface() {
+        if (surface != null) {
+            surface.release();
+            surface = null;
+            surfaceTexture.release();
+            surfaceTexture = null;
+        }
+    }
+
+    private void setupViewport(int width, int height, int paddingLeft, int paddingTop, int paddingBottom) {
+        this.width = width;
+        int viewportHeight = height - paddingTop - paddingBottom;
+        renderer.setViewport(width, paddingLeft, paddingTop, viewportHeight);
+        int cursorHeight = (int) (viewportHeight * Drawer.CURSOR_RELATIVE_HEIGHT);
+        cursorRect.top = paddingTop + (viewportHeight - cursorHeight) / 2;
+        cursorRect.bottom = cursorRect.top + cursorHeight;
+        cursorRect.left = (width - cursorWidth) / 2;
+        cursorRect.right = cursorRect.left + cursorWidth;
+    }
+
+    private void requestFrame() {
+        frameDirty = true;
+        scheduler.postFrame();
+    }
+
+    @Override
+    public void onFrame(long frameTimeNanos) {
+        while (touchEvents.poll()) {
+            handleTouchEvent(touchEvents.getAction(), touchEvents.getPosition(),
+                    touchEvents.getTimeMillis() * NANOS_PER_MILLI);
+        }
+        if (settling) {
+            advanceSettling(frameTimeNanos);
+        }
+        if (frameDirty) {
+            render();
+        }
+        publish();
+        if (settling || !touchEvents.isEmpty()) {
+            scheduler.postFrame();
+        }
+    }
+
+    private void handleTouchEvent(int action, float x, long eventTimeNanos) {
+        if (awaitingDown && action != TouchEventQueue.ACTION_DOWN) {
+            return;
+        }
+        switch (action) {
+            case TouchEventQueue.ACTION_DOWN:
+                awaitingDown = false;
+                settling = false;
+                dragging = false;
+                rebaseLastX = false;
+                downX = x;
+                lastX = x;
+                velocityEstimator.reset();
+                velocityEstimator.addSample(eventTimeNanos / NANOS_PER_MILLI, x);
+                updateScrollState(SCROLL_STATE_IDLE);
+                break;
+            case TouchEventQueue.ACTION_REBASE:
+                rebaseLastX = true;
+                velocityEstimator.reset();
+                break;
+            case TouchEventQueue.ACTION_MOVE:
+                onMove(x, eventTimeNanos);
+                break;
+            case TouchEventQueue.ACTION_UP:
+            case TouchEventQueue.ACTION_CANCEL:
+                onRelease(action == TouchEventQueue.ACTION_UP, eventTimeNanos);
+                break;
+            case TouchEventQueue.ACTION_OVERFLOW:
+                onRelease(false, eventTimeNanos);
+                awaitingDown = true;
+                break;
+        }
+    }
+
+    private void onMove(float x, long eventTimeNanos) {
+        if (rebaseLastX) {
+            rebaseLastX = false;
+            lastX = x;
+            return;
+        }
+        velocityEstimator.addSample(eventTimeNanos / NANOS_PER_MILLI, x);
+        if (!dragging) {
+            if (Math.abs(x - downX) <= touchSlop) {
+                return;
+            }
+            dragging = true;
+            updateScrollState(SCROLL_STATE_DRAGGING);
+        }
+        updateAngle(angle + (lastX - x) * SCROLL_ANGLE_MULTIPLIER);
+        lastX = x;
+    }
+
+    private void onRelease(boolean up, long eventTimeNanos) {
+        if (!dragging) {
+            return;
+        }
+        dragging = false;
+        float velocity = velocityEstimator.getVelocity() * MILLIS_PER_SECOND;
+        velocity = Math.max(-maxFlingVelocity, Math.min(maxFlingVelocity, velocity));
+        if (up && Math.abs(velocity) >= minFlingVelocity) {
+            double endAngle = angle - velocity * FLING_ANGLE_MULTIPLIER;
+            if (snapToMarks) {
+                endAngle = findNearestMarkAngle(endAngle);
+            }
+            startSettling(endAngle, -velocity * SCROLL_ANGLE_MULTIPLIER, eventTimeNanos);
+        } else if (snapToMarks) {
+            startSettling(findNearestMarkAngle(angle), 0, -1);
+        } else {
+            updateScrollState(SCROLL_STATE_IDLE);
+        }
+    }
+
+    private double findNearestMarkAngle(double angle) {
+        return WheelGeometry.findNearestMarkAngle(angle, renderer.getGeometry().getMarksCount());
+    }
+
+    private void startSettling(double endAngle, double velocity, long startTimeNanos) {
+        long duration = SettlingCurve.calcDurationNanos(endAngle - angle, velocity,
+                MIN_SETTLING_DURATION_NANOS, MAX_SETTLING_DURATION_NANOS);
+        if (duration < 0) {
+            duration = (long) (Math.abs(angle - endAngle) * SETTLING_DURATION_MULTIPLIER) * NANOS_PER_MILLI;
+            startTimeNanos = -1;
+        }
+        double exponent = SettlingCurve.calcExponent(endAngle - angle, velocity, duration);
+        settlingCurve.set(angle, endAngle, duration, exponent);
+        requestedSettlingStartNanos = startTimeNanos;
+        settlingStartNanos = -1;
+        settling = true;
+        updateScrollState(SCROLL_STATE_SETTLING);
+    }
+
+    private void advanceSettling(long frameTimeNanos) {
+        if (settlingStartNanos < 0) {
+            long delay = frameTimeNanos - requestedSettlingStartNanos;
+            boolean useRequested = requestedSettlingStartNanos >= 0 && delay >= 0 && delay <= MAX_START_DELAY_NANOS;
+            settlingStartNanos = useRequested ? requestedSettlingStartNanos : frameTimeNanos;
+        }
+        long elapsedNanos = frameTimeNanos - settlingStartNanos;
+        updateAngle(settlingCurve.getAngle(elapsedNanos));
+        if (settlingCurve.isFinished(elapsedNanos)) {
+            settling = false;
+            updateScrollState(SCROLL_STATE_IDLE);
+        }
+    }
+
+    static double limitAngle(double radians, boolean endLock, boolean onlyPositiveValues) {
+        if (endLock) {
+            double min = onlyPositiveValues ? 0 : Math.nextAfter(-2 * PI, Double.POSITIVE_INFINITY);
+            radians = Math.max(min, Math.min(Math.nextAfter(2 * PI, Double.NEGATIVE_INFINITY), radians));
+        }
+        double angle = radians % (2 * PI);
+        if (onlyPositiveValues && angle < 0) {
+            angle += 2 * PI;
+        }
+        return angle;
+    }
+
+    private void updateAngle(double radians) {
+        double newAngle = limitAngle(radians, endLock, onlyPositiveValues);
+        if (endLock && newAngle != radians && settling) {
+            settling = false;
+            updateScrollState(SCROLL_STATE_IDLE);
+        }
+        if (newAngle != angle) {
+            angle = newAngle;
+            frameDirty = true;
+            published = false;
+        }
+    }
+
+    private void updateScrollState(int state) {
+        if (scrollState != state) {
+            scrollState = state;
+            published = false;
+        }
+    }
+
+    private void publish() {
+        if (published) {
+            return;
+        }
+        published = true;
+        publishedAngle = angle;
+        publishedScrollState = scrollState;
+        publishedAngleSequence = angleSequence;
+        if (publishPosted.compareAndSet(false, true)) {
+            uiHandler.post(publishRunnable);
+        }
+    }
+
+    private void render() {
+        if (surface == null || width == 0 || renderer.getGeometry().getMarksCount() == 0) {
+            return;
+        }
+        frameDirty = false;
+        Canvas canvas = lockCanvas();
+        try {
+            canvas.drawColor(Color.TRANSPARENT, PorterDuff.Mode.CLEAR);
+            LineCommands commands = renderer.render(angle);
+            float[] points = scratch.obtainPoints(commands.getCapacity() * 4);
+            Drawer.drawLines(canvas, commands, points, paint, null);
+            cursorLayer.draw(canvas, cursorRect, cursorCornersRadius, activeColor);
+        } finally {
+            surface.unlockCanvasAndPost(canvas);
+        }
+    }
+
+    private Canvas lockCanvas() {
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.M) {
+            return lockHardwareCanvas();
+        }
+        return surface.lockCanvas(null);
+    }
+
+    @TargetApi(Build.VERSION_CODES.M)
+    private Canvas lockHardwareCanvas() {
+        return surface.lockHardwareCanvas();
+    }
+
+}
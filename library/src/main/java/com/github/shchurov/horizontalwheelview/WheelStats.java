@@ -0,0 +1,86 @@
+package com.github.shchurov.horizontalwheelview;
+
+public class WheelStats {
+
+    private final long windowNanos;
+    private final int drawCount;
+    private final long averageDrawNanos;
+    private final long maxDrawNanos;
+    private final float angleUpdatesPerSecond;
+    private final float invalidationsPerSecond;
+    private final float settlingFramesPerSecond;
+    private final int droppedFrames;
+    private final long totalDroppedFrames;
+    private final long lastGestureAllocations;
+
+    WheelStats(long windowNanos, int drawCount, long averageDrawNanos, long maxDrawNanos,
+               float angleUpdatesPerSecond, float invalidationsPerSecond, float settlingFramesPerSecond,
+               int droppedFrames, long totalDroppedFrames, long lastGestureAllocations) {
+        this.windowNanos = windowNanos;
+        this.drawCount = drawCount;
+        this.averageDrawNanos = averageDrawNanos;
+        this.maxDrawNanos = maxDrawNanos;
+        this.angleUpdatesPerSecond = angleUpdatesPerSecond;
+        this.invalidationsPerSecond = invalidationsPerSecond;
+        this.settlingFramesPerSecond = settlingFramesPerSecond;
+        this.droppedFrames = droppedFrames;
+        this.totalDroppedFrames = totalDroppedFrames;
+        this.lastGestureAllocations = lastGestureAllocations;
+    }
+
+    public long getWindowNanos() {
+        return windowNanos;
+    }
+
+    public int getDrawCount() {
+        return drawCount;
+    }
+
+    public long getAverageDrawNanos() {
+        return averageDrawNanos;
+    }
+
+    public long getMaxDrawNanos() {
+        return maxDrawNanos;
+    }
+
+    public float getAngleUpdatesPerSecond() {
+        return angleUpdatesPerSecond;
+    }
+
+    public float getInvalidationsPerSecond() {
+        return invalidationsPerSecond;
+    }
+
+    public float getSettlingFramesPerSecond() {
+        return settlingFramesPerSecond;
+    }
+
+    public int getDroppedFrames() {
+        return droppedFrames;
+    }
+
+    public long getTotalDroppedFrames() {
+        return totalDroppedFrames;
+    }
+
+    public long getLastGestureAllocations() {
+        return lastGestureAllocations;
+    }
+
+    @Override
+    public String toString() {
+        return "WheelStats{"
+                + "windowNanos=" + windowNanos
+                + " drawCount=" + drawCount
+                + " averageDrawNanos=" + averageDrawNanos
+                + " maxDrawNanos=" + maxDrawNanos
+                + " angleUpdatesPerSecond=" + angleUpdatesPerSecond
+                + " invalidationsPerSecond=" + invalidationsPerSecond
+                + " settlingFramesPerSecond=" + settlingFramesPerSecond
+                + " droppedFrames=" + droppedFrames
+                + " totalDroppedFrames=" + totalDroppedFrames
+                + " lastGestureAllocations=" + lastGestureAllocations + "}";
+    }
+
+}
@@ -0,0 +1,109 @@
+package com.github.shchurov.horizontalwheelview;
+
+import android.content.Context;
+import android.content.res.Resources;
+import android.content.res.TypedArray;
+import android.util.AttributeSet;
+import android.util.SparseArray;
+
+import java.util.WeakHashMap;
+
+final class WheelStyle {
+
+    private static final int DP_DEFAULT_WIDTH = 200;
+    private static final int DP_DEFAULT_HEIGHT = 32;
+    private static final int DP_CURSOR_CORNERS_RADIUS = 1;
+    private static final int DP_NORMAL_MARK_WIDTH = 1;
+    private static final int DP_ZERO_MARK_WIDTH = 2;
+    private static final int DP_CURSOR_WIDTH = 3;
+    private static final int DP_MIN_MARKS_SPACING = 3;
+    private static final int DEFAULT_MARKS_COUNT = 40;
+    private static final int DEFAULT_NORMAL_COLOR = 0xffffffff;
+    private static final int DEFAULT_ACTIVE_COLOR = 0xff54acf0;
+    private static final boolean DEFAULT_SHOW_ACTIVE_RANGE = true;
+    private static final boolean DEFAULT_SNAP_TO_MARKS = false;
+    private static final boolean DEFAULT_END_LOCK = false;
+    private static final boolean DEFAULT_ONLY_POSITIVE_VALUES = false;
+    private static final boolean DEFAULT_READ_ONLY = false;
+    private static final boolean DEFAULT_FOCUSABLE = false;
+
+    private static final WeakHashMap<Resources.Theme, SparseArray<WheelStyle>> cache = new WeakHashMap<>();
+
+    final float density;
+    final int marksCount;
+    final int normalColor;
+    final int activeColor;
+    final boolean showActiveRange;
+    final boolean snapToMarks;
+    final boolean endLock;
+    final boolean onlyPositiveValues;
+    final boolean readOnly;
+    final boolean focusable;
+    final int defaultWidth;
+    final int defaultHeight;
+    final int cursorCornersRadius;
+    final int normalMarkWidth;
+    final int zeroMarkWidth;
+    final int cursorWidth;
+    final int minMarksSpacing;
+
+    private WheelStyle(Context context, AttributeSet attrs) {
+        Resources resources = context.getResources();
+        density = resources.getDisplayMetrics().density;
+        TypedArray a = context.obtainStyledAttributes(attrs, R.styleable.HorizontalWheelView);
+        marksCount = a.getInt(R.styleable.HorizontalWheelView_marksCount, DEFAULT_MARKS_COUNT);
+        normalColor = a.getColor(R.styleable.HorizontalWheelView_normalColor, DEFAULT_NORMAL_COLOR);
+        activeColor = a.getColor(R.styleable.HorizontalWheelView_activeColor, DEFAULT_ACTIVE_COLOR);
+        showActiveRange = a.getBoolean(R.styleable.HorizontalWheelView_showActiveRange, DEFAULT_SHOW_ACTIVE_RANGE);
+        snapToMarks = a.getBoolean(R.styleable.HorizontalWheelView_snapToMarks, DEFAULT_SNAP_TO_MARKS);
+        endLock = a.getBoolean(R.styleable.HorizontalWheelView_endLock, DEFAULT_END_LOCK);
+        onlyPositiveValues = a.getBoolean(R.styleable.HorizontalWheelView_onlyPositiveValues,
+                DEFAULT_ONLY_POSITIVE_VALUES);
+        readOnly = a.getBoolean(R.styleable.HorizontalWheelView_readOnly, DEFAULT_READ_ONLY);
+        focusable = a.getBoolean(R.styleable.HorizontalWheelView_android_focusable, DEFAULT_FOCUSABLE);
+        a.recycle();
+        defaultWidth = Utils.convertToPx(DP_DEFAULT_WIDTH, resources);
+        defaultHeight = Utils.convertToPx(DP_DEFAULT_HEIGHT, resources);
+        cursorCornersRadius = Utils.convertToPx(DP_CURSOR_CORNERS_RADIUS, resources);
+        normalMarkWidth = Utils.convertToPx(DP_NORMAL_MARK_WIDTH, resources);
+        zeroMarkWidth = Utils.convertToPx(DP_ZERO_MARK_WIDTH, resources);
+        cursorWidth = Utils.convertToPx(DP_CURSOR_WIDTH, resources);
+        minMarksSpacing = Utils.convertToPx(DP_MIN_MARKS_SPACING, resources);
+    }
+
+    static synchronized WheelStyle obtain(Context context, AttributeSet attrs) {
+        if (hasInlineAttributes(attrs)) {
+            return new WheelStyle(context, attrs);
+        }
+        int styleRes = attrs != null ? attrs.getStyleAttribute() : 0;
+        Resources.Theme theme = context.getTheme();
+        SparseArray<WheelStyle> themeStyles = cache.get(theme);
+        if (themeStyles == null) {
+            themeStyles = new SparseArray<>();
+            cache.put(theme, themeStyles);
+        }
+        WheelStyle style = themeStyles.get(styleRes);
+        if (style == null || style.density != context.getResources().getDisplayMetrics().density) {
+            style = new WheelStyle(context, attrs);
+            themeStyles.put(styleRes, style);
+        }
+        return style;
+    }
+
+    private static boolean hasInlineAttributes(AttributeSet attrs) {
+        if (attrs == null) {
+            return false;
+        }
+        int[] wheelAttrs = R.styleable.HorizontalWheelView;
+        for (int i = 0; i < attrs.getAttributeCount(); i++) {
+            int nameRes = attrs.getAttributeNameResource(i);
+            for (int wheelAttr : wheelAttrs) {
+                if (nameRes == wheelAttr) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+}
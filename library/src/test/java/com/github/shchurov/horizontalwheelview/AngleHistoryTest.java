@@ -0,0 +1,74 @@
+package com.github.shchurov.horizontalwheelview;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class AngleHistoryTest {
+
+    private static final double EPSILON = AngleHistory.QUANTUM;
+
+    private AngleHistory history = new AngleHistory(8);
+
+    @Test
+    public void keepsTheLatestSamples() {
+        for (int i = 0; i < 20; i++) {
+            history.record(i * 10, i * 0.1);
+        }
+        assertEquals(8, history.size());
+        history.record(200, 1.9);
+        assertEquals(8, history.size());
+    }
+
+    @Test
+    public void undoesAndRedoesGestures() {
+        gesture(0, 0, 0.5);
+        gesture(100, 0.5, -1.25);
+        assertTrue(history.canUndo());
+        assertFalse(history.canRedo());
+        assertEquals(0.5, history.undo(), EPSILON);
+        assertEquals(0, history.undo(), EPSILON);
+        assertFalse(history.canUndo());
+        assertEquals(0.5, history.redo(), EPSILON);
+        assertEquals(-1.25, history.redo(), EPSILON);
+        assertFalse(history.canRedo());
+    }
+
+    @Test
+    public void replaysTheLastGestureInTime() {
+        gesture(0, 0, 0.5);
+        history.setGestureAnchor(1000, 0.5);
+        history.onGestureStart();
+        history.record(1016, 0.75);
+        history.record(1032, 1.5);
+        history.onGestureEnd(1048, 2);
+
+        assertTrue(history.beginReplay());
+        assertEquals(0.5, history.getReplayAngle(), EPSILON);
+        assertTrue(history.advanceReplay(20));
+        assertEquals(0.75, history.getReplayAngle(), EPSILON);
+        assertTrue(history.advanceReplay(40));
+        assertEquals(1.5, history.getReplayAngle(), EPSILON);
+        assertFalse(history.advanceReplay(48));
+        assertEquals(2, history.getReplayAngle(), EPSILON);
+    }
+
+    @Test
+    public void cannotReplayAGestureThatFellOutOfTheRing() {
+        gesture(0, 0, 0.5);
+        for (int i = 1; i <= 10; i++) {
+            history.record(100 + i, 0.5 + i * 0.01);
+        }
+        assertFalse(history.beginReplay());
+    }
+
+    private void gesture(long timeMillis, double startAngle, double endAngle) {
+        history.setGestureAnchor(timeMillis, startAngle);
+        history.onGestureStart();
+        history.record(timeMillis + 16, (startAngle + endAngle) / 2);
+        history.onGestureEnd(timeMillis + 32, endAngle);
+    }
+
+}
@@ -0,0 +1,90 @@
+package com.github.shchurov.horizontalwheelview;
+
+import android.graphics.Canvas;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import static java.lang.Math.PI;
+import static org.junit.Assert.assertEquals;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 23)
+public class DrawerTest {
+
+    private static final int WIDTH = 1000;
+    private static final int HEIGHT = 100;
+    private static final int MARKS_COUNT = 30;
+    private static final double STEP = 2 * PI / MARKS_COUNT;
+    // one position key: a quarter of a pixel at the center of the wheel
+    private static final double KEY_ANGLE = 2 * 0.25 / WIDTH;
+    private static final double NUDGE = 1e-6;
+
+    private HorizontalWheelView view = new HorizontalWheelView(RuntimeEnvironment.application, null);
+    private Drawer drawer;
+
+    @Before
+    public void setUp() {
+        view.layout(0, 0, WIDTH, HEIGHT);
+        drawer = new Drawer(view, WheelStyle.obtain(RuntimeEnvironment.application, null));
+        drawer.setMarksCount(MARKS_COUNT);
+        drawer.setShowActiveRange(true);
+        drawer.onSizeChanged();
+    }
+
+    @Test
+    public void redrawsEverythingBeforeTheFirstFrame() {
+        assertEquals(Drawer.REDRAW_ALL, drawer.getRequiredRedraw(0));
+    }
+
+    @Test
+    public void skipsSubQuarterPixelChanges() {
+        double angle = 100.5 * KEY_ANGLE;
+        drawAt(angle);
+        assertEquals(Drawer.REDRAW_NONE, drawer.getRequiredRedraw(angle));
+        assertEquals(Drawer.REDRAW_NONE, drawer.getRequiredRedraw(angle + 0.4 * KEY_ANGLE));
+        assertEquals(Drawer.REDRAW_NONE, drawer.getRequiredRedraw(angle - 0.4 * KEY_ANGLE));
+        assertEquals(Drawer.REDRAW_MARKS, drawer.getRequiredRedraw(angle + KEY_ANGLE));
+        assertEquals(Drawer.REDRAW_MARKS, drawer.getRequiredRedraw(angle - KEY_ANGLE));
+    }
+
+    @Test
+    public void redrawsWhenTheCenterMarkChanges() {
+        assertRedrawAcross(STEP);
+        assertRedrawAcross(-3 * STEP);
+    }
+
+    @Test
+    public void redrawsWhenTheZeroMarkIndexChanges() {
+        // 30 marks put the zero mark index boundaries half a step away from the center mark boundaries
+        assertRedrawAcross(PI / 2 - 7 * STEP);
+        assertRedrawAcross(PI / 2 - 9 * STEP);
+    }
+
+    @Test
+    public void redrawsWhenTheActiveRangeRegionChanges() {
+        assertRedrawAcross(3 * PI / 2);
+        assertRedrawAcross(-3 * PI / 2);
+        drawAt(-NUDGE);
+        assertEquals(Drawer.REDRAW_MARKS, drawer.getRequiredRedraw(NUDGE));
+    }
+
+    private void assertRedrawAcross(double boundary) {
+        drawAt(boundary - NUDGE);
+        assertEquals(Drawer.REDRAW_NONE, drawer.getRequiredRedraw(boundary - 2 * NUDGE));
+        assertEquals(Drawer.REDRAW_MARKS, drawer.getRequiredRedraw(boundary + NUDGE));
+        drawAt(boundary + NUDGE);
+        assertEquals(Drawer.REDRAW_NONE, drawer.getRequiredRedraw(boundary + 2 * NUDGE));
+        assertEquals(Drawer.REDRAW_MARKS, drawer.getRequiredRedraw(boundary - NUDGE));
+    }
+
+    private void drawAt(double angle) {
+        view.setRadiansAngle(angle);
+        drawer.onDraw(new Canvas());
+    }
+
+}
@@ -0,0 +1,120 @@
+package com.github.shchurov.horizontalwheelview;
+
+import android.view.KeyEvent;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import static java.lang.Math.PI;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 23)
+public class HorizontalWheelViewTest {
+
+    private HorizontalWheelView view = new HorizontalWheelView(RuntimeEnvironment.application, null);
+
+    @Test
+    public void readOnlyRestoresFocusability() {
+        assertFalse(view.isFocusable());
+        view.setFocusable(true);
+        view.setReadOnly(true);
+        assertFalse(view.isFocusable());
+        view.setReadOnly(false);
+        assertTrue(view.isFocusable());
+    }
+
+    @Test
+    public void readOnlyKeepsDisabledFocus() {
+        view.setFocusable(false);
+        view.setReadOnly(false);
+        assertFalse(view.isFocusable());
+        view.setReadOnly(true);
+        view.setReadOnly(false);
+        assertFalse(view.isFocusable());
+    }
+
+    @Test
+    public void ignoresKeysThatCannotMoveTheWheel() {
+        view.setAngleBounds(-1, 1);
+        view.setRadiansAngle(1);
+        assertFalse(view.onKeyDown(KeyEvent.KEYCODE_DPAD_RIGHT,
+                new KeyEvent(KeyEvent.ACTION_DOWN, KeyEvent.KEYCODE_DPAD_RIGHT)));
+        assertTrue(view.onKeyDown(KeyEvent.KEYCODE_DPAD_LEFT,
+                new KeyEvent(KeyEvent.ACTION_DOWN, KeyEvent.KEYCODE_DPAD_LEFT)));
+    }
+
+    @Test
+    public void rejectsValueRangesThatWrap() {
+        view.setMarksCount(40);
+        try {
+            view.setValueRange(0, 100, 1);
+            fail();
+        } catch (IllegalArgumentException expected) {
+        }
+        view.setValueRange(0, 39, 1);
+        try {
+            view.setMarksCount(20);
+            fail();
+        } catch (IllegalArgumentException expected) {
+        }
+        assertEquals(40, view.getMarksCount());
+    }
+
+    @Test
+    public void resetSnapsIntoTheValueRange() {
+        view.setMarksCount(40);
+        view.setValueRange(5, 20, 1);
+        view.setValue(10);
+        final int[] lastValue = {-1};
+        view.setListener(new HorizontalWheelView.Listener() {
+            @Override
+            public void onValueChanged(int value) {
+                lastValue[0] = value;
+            }
+        });
+        view.reset();
+        assertEquals(5, view.getValue());
+        assertEquals(5, lastValue[0]);
+        assertEquals(5 * 2 * PI / 40, view.getRadiansAngle(), 1e-12);
+    }
+
+    @Test
+    public void rejectsAngleBoundsOutsideOneTurn() {
+        try {
+            view.setAngleBounds(-2 * PI, 1);
+            fail();
+        } catch (IllegalArgumentException expected) {
+        }
+        try {
+            view.setAngleBounds(0, Double.NaN);
+            fail();
+        } catch (IllegalArgumentException expected) {
+        }
+        view.setAngleBounds(-1, 1);
+    }
+
+    @Test
+    public void rejectsNegativeAngleBoundsWithOnlyPositiveValues() {
+        view.setAngleBounds(-1, 1);
+        try {
+            view.setOnlyPositiveValues(true);
+            fail();
+        } catch (IllegalArgumentException expected) {
+        }
+        view.setAngleBounds(0, 1);
+        view.setOnlyPositiveValues(true);
+        try {
+            view.setAngleBounds(-1, 1);
+            fail();
+        } catch (IllegalArgumentException expected) {
+        }
+    }
+
+}
@@ -0,0 +1,174 @@
+package com.github.shchurov.horizontalwheelview;
+
+import org.junit.Test;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+
+import javax.imageio.ImageIO;
+
+import static java.lang.Math.PI;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+public class LineRasterizerTest {
+
+    static final int WIDTH = 300;
+    static final int HEIGHT = 48;
+    private static final int BACKGROUND_COLOR = 0xff000000;
+    private static final int NORMAL_COLOR = 0xffffffff;
+    private static final int ACTIVE_COLOR = 0xff54acf0;
+    private static final int MAX_CHANNEL_ERROR = 2;
+    private static final float MAX_EDGE_ERROR = 1e-3f;
+    static final String[] GOLDEN_NAMES = {
+            "marks-10-angle-0.00",
+            "marks-40-angle-1.20",
+            "marks-40-angle--2.50-batched",
+            "marks-120-angle-4.00",
+            "marks-360-angle--0.30-batched",
+            "marks-1000-angle-6.00"
+    };
+
+    private LineRasterizer rasterizer = new LineRasterizer();
+    private LineCommands commands = new LineCommands();
+
+    @Test
+    public void fillsFullyCoveredPixels() {
+        draw(10, 0, HEIGHT, 2, NORMAL_COLOR);
+        assertEquals(BACKGROUND_COLOR, pixel(8, 0));
+        assertEquals(NORMAL_COLOR, pixel(9, 0));
+        assertEquals(NORMAL_COLOR, pixel(10, HEIGHT - 1));
+        assertEquals(BACKGROUND_COLOR, pixel(11, 0));
+    }
+
+    @Test
+    public void blendsPartiallyCoveredPixels() {
+        draw(10, 0, HEIGHT, 1, NORMAL_COLOR);
+        assertEquals(0xff808080, pixel(9, 0));
+        assertEquals(0xff808080, pixel(10, 0));
+        draw(20.5f, 0.75f, 10, 1, NORMAL_COLOR);
+        assertEquals(0xff404040, pixel(20, 0));
+        assertEquals(NORMAL_COLOR, pixel(20, 1));
+        assertEquals(BACKGROUND_COLOR, pixel(20, 10));
+    }
+
+    @Test
+    public void blendsSourceAlpha() {
+        draw(30.5f, 0, HEIGHT, 1, 0x80ff0000);
+        assertEquals(0xff800000, pixel(30, 0));
+    }
+
+    @Test
+    public void clipsToTheBuffer() {
+        draw(-5, -10, HEIGHT + 10, 12, NORMAL_COLOR);
+        draw(WIDTH + 2, 0, HEIGHT, 8, NORMAL_COLOR);
+        assertEquals(NORMAL_COLOR, pixel(0, 0));
+        assertEquals(NORMAL_COLOR, pixel(0, HEIGHT - 1));
+        assertEquals(BACKGROUND_COLOR, pixel(1, 0));
+        assertEquals(NORMAL_COLOR, pixel(WIDTH - 1, 0));
+    }
+
+    @Test
+    public void matchesGoldenImages() throws IOException {
+        for (String name : GOLDEN_NAMES) {
+            int[] expected = loadGolden(name);
+            int[] actual = renderGolden(name);
+            for (int i = 0; i < actual.length; i++) {
+                assertTrue(name + ": pixel (" + i % WIDTH + ", " + i / WIDTH + ") "
+                                + Integer.toHexString(actual[i]) + " != " + Integer.toHexString(expected[i]),
+                        channelsMatch(expected[i], actual[i]));
+            }
+        }
+    }
+
+    @Test
+    public void keepsMarksInsideTheViewport() {
+        MarksRenderer renderer = createRenderer(false);
+        for (int marksCount = 10; marksCount <= 1000; marksCount += 7) {
+            renderer.setMarksCount(marksCount);
+            for (int i = 0; i < 36; i++) {
+                double angle = -2 * PI + 4 * PI * i / 36;
+                LineCommands commands = renderer.render(angle);
+                assertTrue(commands.size() > 0);
+                for (int c = 0; c < commands.size(); c++) {
+                    String mark = marksCount + " marks, angle " + angle + ", mark " + c;
+                    float x = commands.getX(c);
+                    float top = commands.getTop(c);
+                    float bottom = commands.getBottom(c);
+                    assertTrue(mark + ": x " + x, x >= -MAX_EDGE_ERROR && x <= WIDTH + MAX_EDGE_ERROR);
+                    assertTrue(mark + ": top " + top + ", bottom " + bottom, top >= 0 && bottom <= HEIGHT);
+                    assertTrue(mark + ": top " + top + ", bottom " + bottom, top < bottom);
+                }
+            }
+        }
+    }
+
+    static int[] renderGolden(String name) {
+        String[] parts = name.split("-", 4);
+        int marksCount = Integer.parseInt(parts[1]);
+        String angleAndMode = parts[3];
+        boolean batched = angleAndMode.endsWith("-batched");
+        double angle = Double.parseDouble(batched
+                ? angleAndMode.substring(0, angleAndMode.length() - "-batched".length())
+                : angleAndMode);
+        MarksRenderer renderer = createRenderer(batched);
+        renderer.setMarksCount(marksCount);
+        LineRasterizer rasterizer = new LineRasterizer();
+        rasterizer.setSize(WIDTH, HEIGHT);
+        rasterizer.clear(BACKGROUND_COLOR);
+        rasterizer.draw(renderer.render(angle));
+        return rasterizer.getPixels().clone();
+    }
+
+    private static MarksRenderer createRenderer(boolean batched) {
+        MarksRenderer renderer = new MarksRenderer();
+        renderer.setNormalColor(NORMAL_COLOR);
+        renderer.setActiveColor(ACTIVE_COLOR);
+        renderer.setBatchingEnabled(batched);
+        renderer.setMarkWidths(1, 2);
+        renderer.setViewport(WIDTH, 0, 0, HEIGHT);
+        renderer.getGeometry().setShowActiveRange(true);
+        return renderer;
+    }
+
+    private int[] loadGolden(String name) throws IOException {
+        InputStream in = getClass().getResourceAsStream("/golden/" + name + ".png");
+        assertNotNull("missing golden image " + name, in);
+        try {
+            BufferedImage image = ImageIO.read(in);
+            assertEquals(WIDTH, image.getWidth());
+            assertEquals(HEIGHT, image.getHeight());
+            return image.getRGB(0, 0, WIDTH, HEIGHT, null, 0, WIDTH);
+        } finally {
+            in.close();
+        }
+    }
+
+    private static boolean channelsMatch(int expected, int actual) {
+        for (int shift = 0; shift < 32; shift += 8) {
+            int difference = ((expected >>> shift) & 0xff) - ((actual >>> shift) & 0xff);
+            if (Math.abs(difference) > MAX_CHANNEL_ERROR) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void draw(float x, float top, float bottom, float width, int color) {
+        if (commands.getCapacity() == 0) {
+            commands.setCapacity(4);
+            rasterizer.setSize(WIDTH, HEIGHT);
+            rasterizer.clear(BACKGROUND_COLOR);
+        }
+        commands.clear();
+        commands.add(x, top, bottom, width, color, 0);
+        rasterizer.draw(commands);
+    }
+
+    private int pixel(int x, int y) {
+        return rasterizer.getPixels()[y * WIDTH + x];
+    }
+
+}
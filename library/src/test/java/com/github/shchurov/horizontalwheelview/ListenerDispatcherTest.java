@@ -0,0 +1,111 @@
+package com.github.shchurov.horizontalwheelview;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.github.shchurov.horizontalwheelview.HorizontalWheelView.SCROLL_STATE_DRAGGING;
+import static com.github.shchurov.horizontalwheelview.HorizontalWheelView.SCROLL_STATE_IDLE;
+import static org.junit.Assert.assertEquals;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 23)
+public class ListenerDispatcherTest {
+
+    private static final long FRAME_INTERVAL_NANOS = 16666667;
+    private static final int UPDATES_PER_FRAME = 4;
+    private static final double ANGLE_STEP = 0.001;
+
+    private RecordingListener listener = new RecordingListener();
+    private WheelCoordinator coordinator = new WheelCoordinator();
+    private ListenerDispatcher dispatcher = new ListenerDispatcher();
+    private long frameTime;
+
+    @Before
+    public void setUp() {
+        dispatcher.setListener(listener);
+        dispatcher.setCoordinator(coordinator);
+    }
+
+    @Test
+    public void coalescesUpdatesIntoOneCallbackPerFrame() {
+        dispatcher.setCoalesce(true);
+        dispatcher.onScrollStateChanged(SCROLL_STATE_DRAGGING);
+        double angle = 0;
+        for (int frame = 0; frame < 10; frame++) {
+            for (int i = 0; i < UPDATES_PER_FRAME; i++) {
+                angle += ANGLE_STEP;
+                dispatcher.onRotationChanged(angle);
+            }
+            assertEquals(frame, listener.angles.size());
+            dispatchFrame();
+            assertEquals(frame + 1, listener.angles.size());
+            assertEquals(angle, listener.angles.get(frame), 0);
+        }
+        dispatchFrame();
+        assertEquals(10, listener.angles.size());
+    }
+
+    @Test
+    public void deliversTheExactFinalAngleWhenIdle() {
+        dispatcher.setCoalesce(true);
+        dispatcher.setMinDelta(ANGLE_STEP * 10);
+        dispatcher.onScrollStateChanged(SCROLL_STATE_DRAGGING);
+        dispatcher.onRotationChanged(ANGLE_STEP);
+        dispatchFrame();
+        dispatcher.onRotationChanged(ANGLE_STEP * 2);
+        dispatchFrame();
+        dispatcher.onRotationChanged(ANGLE_STEP * 3);
+        assertEquals(1, listener.angles.size());
+        dispatcher.onScrollStateChanged(SCROLL_STATE_IDLE);
+        assertEquals(2, listener.angles.size());
+        assertEquals(ANGLE_STEP * 3, listener.angles.get(1), 0);
+        assertEquals(listener.angles.size(), listener.idleAt);
+        dispatchFrame();
+        assertEquals(2, listener.angles.size());
+    }
+
+    @Test
+    public void capsTheRateWhileDragging() {
+        dispatcher.setCoalesce(true);
+        dispatcher.setMaxRate(30);
+        dispatcher.onScrollStateChanged(SCROLL_STATE_DRAGGING);
+        for (int frame = 0; frame < 12; frame++) {
+            dispatcher.onRotationChanged(frame * ANGLE_STEP);
+            dispatchFrame();
+        }
+        assertEquals(6, listener.angles.size());
+        dispatcher.onScrollStateChanged(SCROLL_STATE_IDLE);
+        assertEquals(11 * ANGLE_STEP, listener.angles.get(listener.angles.size() - 1), 0);
+    }
+
+    private void dispatchFrame() {
+        frameTime += FRAME_INTERVAL_NANOS;
+        coordinator.dispatchFrame(frameTime);
+    }
+
+    private static class RecordingListener extends HorizontalWheelView.Listener {
+
+        final List<Double> angles = new ArrayList<>();
+        int idleAt = -1;
+
+        @Override
+        public void onRotationChanged(double radians) {
+            angles.add(radians);
+        }
+
+        @Override
+        public void onScrollStateChanged(int state) {
+            if (state == SCROLL_STATE_IDLE) {
+                idleAt = angles.size();
+            }
+        }
+
+    }
+
+}
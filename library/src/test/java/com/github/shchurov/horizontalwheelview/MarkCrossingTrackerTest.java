@@ -0,0 +1,111 @@
+package com.github.shchurov.horizontalwheelview;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.lang.Math.PI;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 23)
+public class MarkCrossingTrackerTest {
+
+    private static final int MARKS_COUNT = 40;
+    private static final double STEP = 2 * PI / MARKS_COUNT;
+    private static final long FRAME_INTERVAL_NANOS = 16666667;
+
+    private HorizontalWheelView view = new HorizontalWheelView(RuntimeEnvironment.application, null);
+    private WheelCoordinator coordinator = new WheelCoordinator();
+    private MarkCrossingTracker tracker = new MarkCrossingTracker(view);
+    private List<int[]> crossings = new ArrayList<>();
+    private long frameTime;
+
+    @Before
+    public void setUp() {
+        tracker.setCoordinator(coordinator);
+        view.setListener(new HorizontalWheelView.Listener() {
+            @Override
+            public void onMarkCrossed(int index, int count) {
+                crossings.add(new int[]{index, count});
+            }
+        });
+    }
+
+    @Test
+    public void wrapsAtTwoPi() {
+        tracker.reset(MARKS_COUNT, 2 * PI - 0.3 * STEP);
+        tracker.onAngleChanged(0.2 * STEP);
+        dispatchFrame();
+        assertCrossings(new int[]{0, 1});
+
+        tracker.reset(MARKS_COUNT, -2 * PI + 0.3 * STEP);
+        tracker.onAngleChanged(-0.2 * STEP);
+        dispatchFrame();
+        assertCrossings(new int[]{0, -1});
+    }
+
+    @Test
+    public void countsNegativeWhenTheDirectionReverses() {
+        tracker.reset(MARKS_COUNT, 0.2 * STEP);
+        tracker.onAngleChanged(1.2 * STEP);
+        dispatchFrame();
+        tracker.onAngleChanged(0.2 * STEP);
+        dispatchFrame();
+        tracker.onAngleChanged(-0.8 * STEP);
+        dispatchFrame();
+        assertCrossings(new int[]{1, 1}, new int[]{0, -1}, new int[]{MARKS_COUNT - 1, -1});
+    }
+
+    @Test
+    public void backAndForthWithinAFrameCancelsOut() {
+        tracker.reset(MARKS_COUNT, 0.2 * STEP);
+        tracker.onAngleChanged(1.2 * STEP);
+        tracker.onAngleChanged(0.2 * STEP);
+        dispatchFrame();
+        assertCrossings();
+    }
+
+    @Test
+    public void batchesCrossingsIntoOneEventPerFrame() {
+        tracker.reset(MARKS_COUNT, 0.2 * STEP);
+        for (int i = 1; i <= 3; i++) {
+            tracker.onAngleChanged((i + 0.2) * STEP);
+        }
+        dispatchFrame();
+        tracker.onAngleChanged(8.2 * STEP);
+        dispatchFrame();
+        dispatchFrame();
+        assertCrossings(new int[]{3, 3}, new int[]{8, 5});
+    }
+
+    @Test
+    public void ignoresMovesWithinAMark() {
+        tracker.reset(MARKS_COUNT, 0.2 * STEP);
+        tracker.onAngleChanged(0.9 * STEP);
+        tracker.onAngleChanged(0.1 * STEP);
+        dispatchFrame();
+        assertCrossings();
+    }
+
+    private void dispatchFrame() {
+        frameTime += FRAME_INTERVAL_NANOS;
+        coordinator.dispatchFrame(frameTime);
+    }
+
+    private void assertCrossings(int[]... expected) {
+        assertEquals(expected.length, crossings.size());
+        for (int i = 0; i < expected.length; i++) {
+            assertArrayEquals("crossing " + i, expected[i], crossings.get(i));
+        }
+        crossings.clear();
+    }
+
+}
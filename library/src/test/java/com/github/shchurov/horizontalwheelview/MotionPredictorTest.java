@@ -0,0 +1,59 @@
+package com.github.shchurov.horizontalwheelview;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class MotionPredictorTest {
+
+    private static final float EPSILON = 1e-4f;
+
+    private MotionPredictor predictor = new MotionPredictor();
+
+    @Test
+    public void needsThreeSamples() {
+        predictor.addSample(0, 0);
+        predictor.addSample(8, 16);
+        assertEquals(0, predictor.getVelocity(), 0);
+        assertEquals(0, predictor.predict(16), 0);
+        predictor.addSample(16, 32);
+        assertEquals(2, predictor.getVelocity(), EPSILON);
+    }
+
+    @Test
+    public void fitsLinearMotion() {
+        for (int t = 0; t <= 40; t += 4) {
+            predictor.addSample(t, 100 - 1.5f * t);
+        }
+        assertEquals(-1.5f, predictor.getVelocity(), EPSILON);
+        assertEquals(-12, predictor.predict(8), EPSILON);
+    }
+
+    @Test
+    public void limitsPredictionToTheObservedDistance() {
+        predictor.addSample(0, 0);
+        predictor.addSample(4, 4);
+        predictor.addSample(8, 8);
+        assertEquals(8, predictor.predict(100), EPSILON);
+    }
+
+    @Test
+    public void ignoresSamplesOutsideTheWindow() {
+        predictor.addSample(0, 0);
+        predictor.addSample(10, 100);
+        predictor.addSample(200, 100);
+        predictor.addSample(208, 108);
+        predictor.addSample(216, 116);
+        assertEquals(1, predictor.getVelocity(), EPSILON);
+    }
+
+    @Test
+    public void resetsWhenTimeGoesBackward() {
+        predictor.addSample(100, 0);
+        predictor.addSample(108, 80);
+        predictor.addSample(116, 160);
+        predictor.addSample(50, 0);
+        assertEquals(0, predictor.getVelocity(), 0);
+    }
+
+}
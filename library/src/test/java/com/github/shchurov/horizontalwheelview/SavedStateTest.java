@@ -0,0 +1,223 @@
+package com.github.shchurov.horizontalwheelview;
+
+import android.os.Parcel;
+import android.os.Parcelable;
+import android.view.AbsSavedState;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 23)
+public class SavedStateTest {
+
+    private static final double DELTA = 1e-9;
+    private static final long FRAME_INTERVAL_NANOS = 16666667;
+
+    @Test
+    public void parcelRoundTrip() {
+        SavedState state = new SavedState(AbsSavedState.EMPTY_STATE);
+        state.angle = 1.25;
+        state.marksCount = 60;
+        state.normalColor = 0xff112233;
+        state.activeColor = 0x80445566;
+        state.endLock = true;
+        state.snapToMarks = true;
+        state.readOnly = true;
+        state.discreteValues = true;
+        state.minValue = -5;
+        state.maxValue = 20;
+        state.valueStep = 5;
+        state.angleBounds = true;
+        state.minAngle = -1;
+        state.maxAngle = 2.5;
+        state.overscrollBounce = true;
+        state.lowLatencyTouch = true;
+        state.touchPrediction = true;
+        state.powerSaveMode = HorizontalWheelView.POWER_SAVE_AUTO;
+        state.settling = true;
+        state.settlingStartAngle = 0.5;
+        state.settlingEndAngle = 2;
+        state.settlingDurationNanos = 400000000;
+        state.settlingExponent = 3.5;
+        state.settlingElapsedNanos = 120000000;
+        state.settlingStopAngle = 1.5;
+        state.bouncePending = true;
+        state.bounceEndAngle = 1.25;
+        state.bounceVelocity = -0.8;
+
+        SavedState restored = parcelAndUnparcel(state);
+
+        assertTrue(restored.compatible);
+        assertEquals(1.25, restored.angle, DELTA);
+        assertEquals(60, restored.marksCount);
+        assertEquals(0xff112233, restored.normalColor);
+        assertEquals(0x80445566, restored.activeColor);
+        assertFalse(restored.showActiveRange);
+        assertTrue(restored.endLock);
+        assertFalse(restored.onlyPositiveValues);
+        assertTrue(restored.snapToMarks);
+        assertTrue(restored.readOnly);
+        assertTrue(restored.discreteValues);
+        assertEquals(-5, restored.minValue);
+        assertEquals(20, restored.maxValue);
+        assertEquals(5, restored.valueStep);
+        assertTrue(restored.angleBounds);
+        assertEquals(-1, restored.minAngle, DELTA);
+        assertEquals(2.5, restored.maxAngle, DELTA);
+        assertTrue(restored.overscrollBounce);
+        assertTrue(restored.lowLatencyTouch);
+        assertTrue(restored.touchPrediction);
+        assertEquals(HorizontalWheelView.POWER_SAVE_AUTO, restored.powerSaveMode);
+        assertTrue(restored.settling);
+        assertEquals(0.5, restored.settlingStartAngle, DELTA);
+        assertEquals(2, restored.settlingEndAngle, DELTA);
+        assertEquals(400000000, restored.settlingDurationNanos);
+        assertEquals(3.5, restored.settlingExponent, DELTA);
+        assertEquals(120000000, restored.settlingElapsedNanos);
+        assertEquals(1.5, restored.settlingStopAngle, DELTA);
+        assertTrue(restored.bouncePending);
+        assertEquals(1.25, restored.bounceEndAngle, DELTA);
+        assertEquals(-0.8, restored.bounceVelocity, DELTA);
+    }
+
+    @Test
+    public void unknownVersionIsNotCompatible() {
+        Parcel parcel = Parcel.obtain();
+        AbsSavedState.EMPTY_STATE.writeToParcel(parcel, 0);
+        parcel.writeInt(Integer.MAX_VALUE);
+        parcel.writeDouble(1);
+        parcel.setDataPosition(0);
+        SavedState restored = SavedState.CREATOR.createFromParcel(parcel);
+        parcel.recycle();
+        assertFalse(restored.compatible);
+    }
+
+    @Test
+    public void viewRestoresInMemoryState() {
+        HorizontalWheelView source = createConfiguredView();
+        Parcelable state = source.onSaveInstanceState();
+        HorizontalWheelView target = new HorizontalWheelView(RuntimeEnvironment.application, null);
+        target.onRestoreInstanceState(state);
+        assertSameConfiguration(source, target);
+    }
+
+    @Test
+    public void viewRestoresParceledState() {
+        HorizontalWheelView source = createConfiguredView();
+        SavedState state = parcelAndUnparcel((SavedState) source.onSaveInstanceState());
+        HorizontalWheelView target = new HorizontalWheelView(RuntimeEnvironment.application, null);
+        target.onRestoreInstanceState(state);
+        assertSameConfiguration(source, target);
+    }
+
+    @Test
+    public void viewIgnoresIncompatibleState() {
+        Parcel parcel = Parcel.obtain();
+        AbsSavedState.EMPTY_STATE.writeToParcel(parcel, 0);
+        parcel.writeInt(Integer.MAX_VALUE);
+        parcel.setDataPosition(0);
+        SavedState state = SavedState.CREATOR.createFromParcel(parcel);
+        parcel.recycle();
+        HorizontalWheelView view = new HorizontalWheelView(RuntimeEnvironment.application, null);
+        view.setRadiansAngle(0.75);
+        view.onRestoreInstanceState(state);
+        assertEquals(0.75, view.getRadiansAngle(), DELTA);
+    }
+
+    @Test
+    public void viewKeepsInFlightBounce() {
+        SavedState state = (SavedState) new HorizontalWheelView(RuntimeEnvironment.application, null)
+                .onSaveInstanceState();
+        state.settling = true;
+        state.settlingStartAngle = 0;
+        state.settlingEndAngle = 2;
+        state.settlingDurationNanos = 400000000;
+        state.settlingExponent = 3;
+        state.settlingElapsedNanos = 50000000;
+        state.settlingStopAngle = 1;
+        state.bouncePending = true;
+        state.bounceEndAngle = 0.75;
+        state.bounceVelocity = -1;
+        HorizontalWheelView view = new HorizontalWheelView(RuntimeEnvironment.application, null);
+        view.onRestoreInstanceState(parcelAndUnparcel(state));
+
+        SavedState saved = parcelAndUnparcel((SavedState) view.onSaveInstanceState());
+
+        assertTrue(saved.settling);
+        assertEquals(2, saved.settlingEndAngle, DELTA);
+        assertEquals(50000000, saved.settlingElapsedNanos);
+        assertEquals(1, saved.settlingStopAngle, DELTA);
+        assertTrue(saved.bouncePending);
+        assertEquals(0.75, saved.bounceEndAngle, DELTA);
+        assertEquals(-1, saved.bounceVelocity, DELTA);
+    }
+
+    @Test
+    public void resumedBounceStopsAtTheWallAndReturns() {
+        HorizontalWheelView view = new HorizontalWheelView(RuntimeEnvironment.application, null);
+        TouchHandler touchHandler = new TouchHandler(view);
+        touchHandler.resumeSettling(0, 2, 400000000, 3, 50000000, 1);
+        touchHandler.resumeBounce(0.75, -1);
+        SettlingAnimation animation = touchHandler.getSettlingAnimation();
+        double maxAngle = 0;
+        long frameTime = 0;
+        while (animation.isRunning()) {
+            frameTime += FRAME_INTERVAL_NANOS;
+            animation.onFrame(frameTime);
+            maxAngle = Math.max(maxAngle, view.getRadiansAngle());
+        }
+        assertEquals(1, maxAngle, DELTA);
+        assertEquals(0.75, view.getRadiansAngle(), DELTA);
+        assertFalse(touchHandler.isBouncePending());
+    }
+
+    private HorizontalWheelView createConfiguredView() {
+        HorizontalWheelView view = new HorizontalWheelView(RuntimeEnvironment.application, null);
+        view.setMarksCount(60);
+        view.setEndLock(true);
+        view.setSnapToMarks(true);
+        view.setValueRange(-10, 20, 1);
+        view.setValue(7);
+        view.setAngleBounds(-1, 2.5);
+        view.setOverscrollBounceEnabled(true);
+        view.setLowLatencyTouchEnabled(true);
+        view.setTouchPredictionEnabled(true);
+        view.setPowerSaveMode(HorizontalWheelView.POWER_SAVE_ON);
+        return view;
+    }
+
+    private void assertSameConfiguration(HorizontalWheelView expected, HorizontalWheelView actual) {
+        assertEquals(expected.getRadiansAngle(), actual.getRadiansAngle(), DELTA);
+        assertEquals(expected.getMarksCount(), actual.getMarksCount());
+        assertEquals(expected.getValue(), actual.getValue());
+        assertTrue(actual.isDiscreteValuesEnabled());
+        assertEquals(expected.isReadOnly(), actual.isReadOnly());
+        SavedState expectedState = (SavedState) expected.onSaveInstanceState();
+        SavedState actualState = (SavedState) actual.onSaveInstanceState();
+        assertTrue(actualState.angleBounds);
+        assertEquals(expectedState.minAngle, actualState.minAngle, 0);
+        assertEquals(expectedState.maxAngle, actualState.maxAngle, 0);
+        assertTrue(actualState.overscrollBounce);
+        assertTrue(actualState.lowLatencyTouch);
+        assertTrue(actualState.touchPrediction);
+        assertEquals(HorizontalWheelView.POWER_SAVE_ON, actualState.powerSaveMode);
+    }
+
+    private SavedState parcelAndUnparcel(SavedState state) {
+        Parcel parcel = Parcel.obtain();
+        state.writeToParcel(parcel, 0);
+        parcel.setDataPosition(0);
+        SavedState restored = SavedState.CREATOR.createFromParcel(parcel);
+        parcel.recycle();
+        return restored;
+    }
+
+}
@@ -0,0 +1,165 @@
+package com.github.shchurov.horizontalwheelview;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.lang.management.ManagementFactory;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 23)
+public class SettlingAnimationTest {
+
+    private static final long FRAME_INTERVAL_NANOS = 16666667;
+    private static final int WARMUP_FLINGS_COUNT = 20;
+    private static final int FRAMES_LIMIT = 1000;
+    private static final long NANOS_PER_SECOND = 1000000000;
+    private static final int[] REFRESH_RATES = {60, 90, 120, 144};
+    private static final long SEED = 42;
+    private static final int TIMELINES_COUNT = 50;
+    private static final long STALL_NANOS = 80000000;
+    private static final long JITTER_NANOS = 500000;
+    private static final double EPSILON = 1e-9;
+
+    private RecordingListener listener = new RecordingListener();
+    private WheelCoordinator coordinator = new WheelCoordinator();
+    private SettlingAnimation animation = new SettlingAnimation(listener, coordinator);
+
+    @Test
+    public void flingAllocatesNothing() {
+        for (int i = 0; i < WARMUP_FLINGS_COUNT; i++) {
+            runFling(i);
+        }
+        long calibration = -getAllocatedBytes() + getAllocatedBytes();
+        long before = getAllocatedBytes();
+        int framesCount = runFling(WARMUP_FLINGS_COUNT);
+        long allocated = getAllocatedBytes() - before - calibration;
+        assertEquals("bytes allocated over " + framesCount + " frames", 0, allocated);
+        assertFalse(animation.isRunning());
+        assertEquals(1, listener.endsCount - WARMUP_FLINGS_COUNT);
+    }
+
+    @Test
+    public void followsFrameTimelinesWithDroppedFrames() {
+        Random random = new Random(SEED);
+        for (int refreshRate : REFRESH_RATES) {
+            for (int i = 0; i < TIMELINES_COUNT; i++) {
+                double velocity = (random.nextBoolean() ? 1 : -1) * (1 + 15 * random.nextDouble());
+                runTimeline(refreshRate, velocity, random.nextInt(40), random);
+            }
+        }
+    }
+
+    @Test
+    public void capsFrameRate() {
+        animation.setMaxFrameRate(30);
+        animation.start(0, 1, 500000000, 3, 0);
+        long interval = NANOS_PER_SECOND / 120;
+        long frameTime = 0;
+        int updatesCount = 0;
+        double previous = -1;
+        while (animation.isRunning()) {
+            frameTime += interval;
+            animation.onFrame(frameTime);
+            if (listener.angle != previous) {
+                updatesCount++;
+                previous = listener.angle;
+            }
+        }
+        assertEquals(1, listener.angle, 0);
+        assertTrue("updates: " + updatesCount, updatesCount <= 500 / 33 + 2);
+    }
+
+    private void runTimeline(int refreshRate, double velocity, int droppedPercent, Random random) {
+        double distance = velocity * TouchHandler.FLING_ANGLE_MULTIPLIER / TouchHandler.SCROLL_ANGLE_MULTIPLIER;
+        long duration = SettlingCurve.calcDurationNanos(distance, velocity,
+                TouchHandler.MIN_SETTLING_DURATION_NANOS, TouchHandler.MAX_SETTLING_DURATION_NANOS);
+        double exponent = SettlingCurve.calcExponent(distance, velocity, duration);
+        SettlingCurve expected = new SettlingCurve();
+        expected.set(0, distance, duration, exponent);
+        long interval = NANOS_PER_SECOND / refreshRate;
+        long startTime = random.nextInt(1000) * interval;
+        String timeline = refreshRate + " Hz, " + droppedPercent + "% dropped, velocity " + velocity;
+
+        animation.start(0, distance, duration, exponent, startTime);
+        long vsync = startTime;
+        long latestFrameTime = startTime;
+        long lastElapsed = 0;
+        double previous = 0;
+        int framesCount = 0;
+        while (animation.isRunning()) {
+            vsync += interval;
+            if (random.nextInt(100) < droppedPercent) {
+                continue;
+            }
+            if (random.nextInt(200) == 0) {
+                vsync += STALL_NANOS;
+            }
+            long frameTime = vsync + random.nextInt((int) JITTER_NANOS) - JITTER_NANOS / 2;
+            if (framesCount > 0 && random.nextInt(50) == 0) {
+                frameTime = latestFrameTime - interval;
+            }
+            animation.onFrame(frameTime);
+            framesCount++;
+            latestFrameTime = Math.max(latestFrameTime, frameTime);
+            double angle = listener.angle;
+            assertEquals(timeline, expected.getAngle(latestFrameTime - startTime), angle, EPSILON);
+            assertTrue(timeline + ": moved backward", (angle - previous) * distance >= 0);
+            assertTrue(timeline + ": overshoot", Math.abs(angle) <= Math.abs(distance));
+            long elapsed = animation.getElapsedNanos();
+            assertTrue(timeline + ": time went backward", elapsed >= lastElapsed || !animation.isRunning());
+            lastElapsed = Math.max(lastElapsed, elapsed);
+            previous = angle;
+        }
+        assertEquals(timeline, distance, listener.angle, 0);
+        assertTrue(timeline, latestFrameTime - startTime >= duration);
+        assertTrue(timeline, framesCount > 0);
+    }
+
+    private int runFling(int index) {
+        double velocity = 2 + index % 7;
+        double distance = velocity * TouchHandler.FLING_ANGLE_MULTIPLIER / TouchHandler.SCROLL_ANGLE_MULTIPLIER;
+        long duration = SettlingCurve.calcDurationNanos(distance, velocity,
+                TouchHandler.MIN_SETTLING_DURATION_NANOS, TouchHandler.MAX_SETTLING_DURATION_NANOS);
+        double exponent = SettlingCurve.calcExponent(distance, velocity, duration);
+        long frameTime = index * TouchHandler.MAX_SETTLING_DURATION_NANOS * 2;
+        animation.start(0, distance, duration, exponent, frameTime);
+        int framesCount = 0;
+        while (animation.isRunning()) {
+            frameTime += FRAME_INTERVAL_NANOS;
+            coordinator.dispatchFrame(frameTime);
+            framesCount++;
+            assertTrue(framesCount < FRAMES_LIMIT);
+        }
+        return framesCount;
+    }
+
+    private static long getAllocatedBytes() {
+        com.sun.management.ThreadMXBean bean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        return bean.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    private static class RecordingListener implements SettlingAnimation.Listener {
+
+        double angle;
+        int endsCount;
+
+        @Override
+        public void onSettlingUpdate(double angle) {
+            this.angle = angle;
+        }
+
+        @Override
+        public void onSettlingEnd() {
+            endsCount++;
+        }
+
+    }
+
+}
@@ -0,0 +1,76 @@
+package com.github.shchurov.horizontalwheelview;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class SettlingCurveTest {
+
+    private static final double NANOS_PER_SECOND = 1e9;
+    private static final long MIN_NANOS = TouchHandler.MIN_SETTLING_DURATION_NANOS;
+    private static final long MAX_NANOS = TouchHandler.MAX_SETTLING_DURATION_NANOS;
+
+    @Test
+    public void fasterFlingsSettleLonger() {
+        long previousMillis = 0;
+        for (int pixelsPerSecond = 500; pixelsPerSecond <= 8000; pixelsPerSecond += 500) {
+            long millis = Math.round(calcFlingDurationNanos(pixelsPerSecond) / 1e6);
+            assertTrue(pixelsPerSecond + " px/s: " + millis + " ms", millis >= previousMillis);
+            previousMillis = millis;
+        }
+        assertEquals(200, calcFlingDurationNanos(1000) / 1e6, 1);
+        assertEquals(400, calcFlingDurationNanos(4000) / 1e6, 1);
+        assertEquals(800, calcFlingDurationNanos(8000) / 1e6, 1);
+    }
+
+    @Test
+    public void startsWithFlingVelocity() {
+        for (int pixelsPerSecond = 500; pixelsPerSecond <= 8000; pixelsPerSecond += 500) {
+            double distance = pixelsPerSecond * TouchHandler.FLING_ANGLE_MULTIPLIER;
+            double velocity = pixelsPerSecond * TouchHandler.SCROLL_ANGLE_MULTIPLIER;
+            long duration = SettlingCurve.calcDurationNanos(distance, velocity, MIN_NANOS, MAX_NANOS);
+            double exponent = SettlingCurve.calcExponent(distance, velocity, duration);
+            SettlingCurve curve = new SettlingCurve();
+            curve.set(0, distance, duration, exponent);
+            if (exponent > SettlingCurve.MIN_EXPONENT && exponent < SettlingCurve.MAX_EXPONENT) {
+                assertEquals(velocity, curve.getVelocity(0), velocity * 1e-6);
+            }
+            long dt = 1000000;
+            double measured = curve.getAngle(dt) / (dt / NANOS_PER_SECOND);
+            assertTrue(measured <= curve.getVelocity(0));
+        }
+    }
+
+    @Test
+    public void opposingVelocityHasNoDuration() {
+        assertEquals(-1, SettlingCurve.calcDurationNanos(1, -2, MIN_NANOS, MAX_NANOS));
+        assertEquals(-1, SettlingCurve.calcDurationNanos(0, 2, MIN_NANOS, MAX_NANOS));
+        assertEquals(SettlingCurve.DEFAULT_EXPONENT, SettlingCurve.calcExponent(1, -2, MIN_NANOS), 0);
+    }
+
+    @Test
+    public void negativeFlingsMirrorPositiveOnes() {
+        long positive = SettlingCurve.calcDurationNanos(0.6, 6, MIN_NANOS, MAX_NANOS);
+        long negative = SettlingCurve.calcDurationNanos(-0.6, -6, MIN_NANOS, MAX_NANOS);
+        assertEquals(positive, negative);
+        assertEquals(SettlingCurve.calcExponent(0.6, 6, positive), SettlingCurve.calcExponent(-0.6, -6, negative), 0);
+    }
+
+    @Test
+    public void stopAtEndsOnTheStopAngle() {
+        SettlingCurve curve = new SettlingCurve();
+        curve.set(0, 2, 500000000, 4);
+        long stopNanos = curve.stopAt(1.5);
+        assertTrue(stopNanos < 500000000);
+        assertTrue(curve.getAngle(stopNanos - 1) < 1.5);
+        assertEquals(1.5, curve.getAngle(stopNanos), 0);
+        assertEquals(1.5, curve.getAngle(Long.MAX_VALUE), 0);
+    }
+
+    private long calcFlingDurationNanos(int pixelsPerSecond) {
+        return SettlingCurve.calcDurationNanos(pixelsPerSecond * TouchHandler.FLING_ANGLE_MULTIPLIER,
+                pixelsPerSecond * TouchHandler.SCROLL_ANGLE_MULTIPLIER, MIN_NANOS, MAX_NANOS);
+    }
+
+}
@@ -0,0 +1,65 @@
+package com.github.shchurov.horizontalwheelview;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 23)
+public class TargetAnimationTest {
+
+    private static final long FRAME_INTERVAL_NANOS = 16000000;
+    private static final int MAX_FRAMES = 500;
+
+    private HorizontalWheelView view = new HorizontalWheelView(RuntimeEnvironment.application, null);
+    private TargetAnimation animation = new TargetAnimation(view, null);
+    private long frameTime;
+
+    @Test
+    public void convergesOnTheTarget() {
+        animation.animateTo(0, 1);
+        frameTime = System.nanoTime();
+        runToEnd();
+        assertEquals(1, view.getRadiansAngle(), 0);
+    }
+
+    @Test
+    public void retargetingKeepsTheVelocity() {
+        animation.animateTo(0, 1);
+        frameTime = System.nanoTime();
+        for (int i = 0; i < 2; i++) {
+            step();
+        }
+        double before = view.getRadiansAngle();
+        step();
+        double stepBefore = view.getRadiansAngle() - before;
+        animation.animateTo(view.getRadiansAngle(), -1);
+        before = view.getRadiansAngle();
+        step();
+        double stepAfter = view.getRadiansAngle() - before;
+        assertTrue(stepBefore > 0);
+        assertTrue(stepAfter > 0);
+        assertTrue(Math.abs(stepAfter - stepBefore) < stepBefore);
+        runToEnd();
+        assertEquals(-1, view.getRadiansAngle(), 0);
+    }
+
+    private void step() {
+        frameTime += FRAME_INTERVAL_NANOS;
+        animation.onFrame(frameTime);
+    }
+
+    private void runToEnd() {
+        for (int i = 0; i < MAX_FRAMES && animation.isRunning(); i++) {
+            step();
+        }
+        assertFalse(animation.isRunning());
+    }
+
+}
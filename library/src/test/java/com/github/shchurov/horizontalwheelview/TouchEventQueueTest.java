@@ -0,0 +1,70 @@
+package com.github.shchurov.horizontalwheelview;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class TouchEventQueueTest {
+
+    private static final int FLOOD_SIZE = 1000;
+
+    private TouchEventQueue queue = new TouchEventQueue();
+
+    @Test
+    public void deliversEventsInOrder() {
+        queue.offer(TouchEventQueue.ACTION_DOWN, 1, 10);
+        queue.offer(TouchEventQueue.ACTION_MOVE, 2, 20);
+        queue.offer(TouchEventQueue.ACTION_UP, 3, 30);
+        assertPolled(TouchEventQueue.ACTION_DOWN, 1, 10);
+        assertPolled(TouchEventQueue.ACTION_MOVE, 2, 20);
+        assertPolled(TouchEventQueue.ACTION_UP, 3, 30);
+        assertFalse(queue.poll());
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    public void coalescesMovesAndKeepsControlEvents() {
+        queue.offer(TouchEventQueue.ACTION_DOWN, 0, 0);
+        for (int i = 1; i <= FLOOD_SIZE; i++) {
+            queue.offer(TouchEventQueue.ACTION_MOVE, i, i);
+        }
+        queue.offer(TouchEventQueue.ACTION_UP, FLOOD_SIZE, FLOOD_SIZE + 1);
+        assertPolled(TouchEventQueue.ACTION_DOWN, 0, 0);
+        float lastPosition = 0;
+        while (queue.poll() && queue.getAction() == TouchEventQueue.ACTION_MOVE) {
+            assertTrue(queue.getPosition() > lastPosition);
+            lastPosition = queue.getPosition();
+        }
+        assertEquals(FLOOD_SIZE, lastPosition, 0);
+        assertEquals(TouchEventQueue.ACTION_UP, queue.getAction());
+        assertFalse(queue.poll());
+    }
+
+    @Test
+    public void reportsOverflowInsteadOfDroppingControlEvents() {
+        for (int i = 0; i < FLOOD_SIZE; i++) {
+            queue.offer(i % 2 == 0 ? TouchEventQueue.ACTION_DOWN : TouchEventQueue.ACTION_UP, i, i);
+        }
+        int polledCount = 0;
+        while (queue.poll() && queue.getAction() != TouchEventQueue.ACTION_OVERFLOW) {
+            assertEquals(polledCount, queue.getPosition(), 0);
+            polledCount++;
+        }
+        assertEquals(TouchEventQueue.ACTION_OVERFLOW, queue.getAction());
+        assertEquals(polledCount, queue.getTimeMillis());
+        assertTrue(polledCount < FLOOD_SIZE);
+        assertFalse(queue.poll());
+        queue.offer(TouchEventQueue.ACTION_DOWN, 1, 1);
+        assertPolled(TouchEventQueue.ACTION_DOWN, 1, 1);
+    }
+
+    private void assertPolled(int action, float position, long timeMillis) {
+        assertTrue(queue.poll());
+        assertEquals(action, queue.getAction());
+        assertEquals(position, queue.getPosition(), 0);
+        assertEquals(timeMillis, queue.getTimeMillis());
+    }
+
+}
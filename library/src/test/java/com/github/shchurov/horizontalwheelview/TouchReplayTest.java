@@ -0,0 +1,191 @@
+package com.github.shchurov.horizontalwheelview;
+
+import android.view.MotionEvent;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 23)
+public class TouchReplayTest {
+
+    private static final int DOWN = MotionEvent.ACTION_DOWN;
+    private static final int MOVE = MotionEvent.ACTION_MOVE;
+    private static final int UP = MotionEvent.ACTION_UP;
+    private static final double MULTIPLIER = TouchHandler.SCROLL_ANGLE_MULTIPLIER;
+    private static final double EPSILON = 1e-9;
+    private static final long FRAME_INTERVAL_NANOS = 16 * TouchHandler.NANOS_PER_MILLI;
+
+    // {action, time, x, time, x, ...}: every (time, x) pair but the last one is a historical sample
+    private static final int[][] SLOW_DRAG = {
+            {DOWN, 0, 540},
+            {MOVE, 4, 541, 8, 543, 12, 546, 16, 550},
+            {MOVE, 20, 555, 24, 561, 28, 566, 32, 570},
+            {MOVE, 36, 575, 40, 581, 44, 588, 48, 594},
+            {MOVE, 52, 599, 56, 603, 60, 606, 64, 608},
+            {MOVE, 68, 609, 72, 609, 76, 609, 80, 609},
+            {MOVE, 84, 609, 88, 609, 92, 609, 96, 609},
+            {UP, 100, 609}
+    };
+    private static final int[][] FLICK = {
+            {DOWN, 0, 300},
+            {MOVE, 4, 310, 8, 330, 12, 360, 16, 400},
+            {MOVE, 20, 450, 24, 500, 28, 550, 32, 600},
+            {MOVE, 36, 650, 40, 700, 44, 750, 48, 800},
+            {UP, 50, 800}
+    };
+
+    @Test
+    public void replayIsDeterministic() {
+        Replay first = replay(FLICK, true);
+        Replay second = replay(FLICK, true);
+        assertArrayEquals(first.angles, second.angles, 0);
+        assertEquals(first.scrollStates, second.scrollStates);
+    }
+
+    @Test
+    public void appliesEveryMoveWithoutTouchSlop() {
+        Replay replay = replay(SLOW_DRAG, false);
+        for (int i = 0; i < SLOW_DRAG.length; i++) {
+            int[] row = SLOW_DRAG[i];
+            double expected = -(row[row.length - 1] - SLOW_DRAG[0][2]) * MULTIPLIER;
+            assertEquals("event " + i, expected, replay.angles[i], EPSILON);
+        }
+        assertEquals(-MULTIPLIER * 10, replay.angles[1], EPSILON);
+    }
+
+    @Test
+    public void predictionLeadsTheFingerAndIsDroppedOnRelease() {
+        Replay plain = replay(SLOW_DRAG, false);
+        Replay predicted = replay(SLOW_DRAG, true);
+        assertTrue(predicted.angles[2] < plain.angles[2]);
+        assertTrue(predicted.angles[3] < plain.angles[3]);
+        int last = SLOW_DRAG.length - 1;
+        assertEquals(plain.angles[last], predicted.angles[last], EPSILON);
+        assertEquals(HorizontalWheelView.SCROLL_STATE_IDLE, (int) predicted.scrollStates.get(
+                predicted.scrollStates.size() - 1));
+    }
+
+    @Test
+    public void flickStartsSettlingFromTheReleaseAngle() {
+        Replay replay = replay(FLICK, false);
+        List<Integer> states = replay.scrollStates;
+        assertEquals(HorizontalWheelView.SCROLL_STATE_DRAGGING, (int) states.get(0));
+        assertEquals(HorizontalWheelView.SCROLL_STATE_SETTLING, (int) states.get(states.size() - 1));
+        assertEquals(-(800 - 300) * MULTIPLIER, replay.angles[FLICK.length - 1], EPSILON);
+    }
+
+    @Test
+    public void flingTowardABoundDeceleratesIntoIt() {
+        Replay replay = flingIntoBound(false);
+        assertEquals(-1.5, replay.minAngle, EPSILON);
+        assertEquals(-1.5, replay.finalAngle, EPSILON);
+        assertTrue(replay.lastStep < replay.firstStep / 10);
+        assertEquals(HorizontalWheelView.SCROLL_STATE_IDLE, (int) replay.scrollStates.get(
+                replay.scrollStates.size() - 1));
+    }
+
+    @Test
+    public void flingPastABoundBouncesBackInside() {
+        Replay replay = flingIntoBound(true);
+        assertEquals(-1.5, replay.minAngle, EPSILON);
+        assertTrue(replay.finalAngle > -1.5);
+        assertTrue(replay.finalAngle < replay.angles[FLICK.length - 1]);
+        assertEquals(HorizontalWheelView.SCROLL_STATE_IDLE, (int) replay.scrollStates.get(
+                replay.scrollStates.size() - 1));
+    }
+
+    private Replay flingIntoBound(boolean bounceEnabled) {
+        HorizontalWheelView view = new HorizontalWheelView(RuntimeEnvironment.application, null);
+        view.setAngleBounds(-1.5, 1.5);
+        TouchHandler touchHandler = new TouchHandler(view);
+        touchHandler.setLowLatencyEnabled(true);
+        touchHandler.setBounceEnabled(bounceEnabled);
+        final Replay replay = new Replay(FLICK.length);
+        touchHandler.setListener(new HorizontalWheelView.Listener() {
+            @Override
+            public void onScrollStateChanged(int state) {
+                replay.scrollStates.add(state);
+            }
+        });
+        for (int i = 0; i < FLICK.length; i++) {
+            MotionEvent event = createEvent(FLICK[i]);
+            touchHandler.onTouchEvent(event);
+            event.recycle();
+            replay.angles[i] = view.getRadiansAngle();
+        }
+        SettlingAnimation animation = touchHandler.getSettlingAnimation();
+        double angle = view.getRadiansAngle();
+        replay.minAngle = angle;
+        long frameTime = FLICK[FLICK.length - 1][1] * TouchHandler.NANOS_PER_MILLI;
+        while (animation.isRunning()) {
+            frameTime += FRAME_INTERVAL_NANOS;
+            animation.onFrame(frameTime);
+            double step = angle - view.getRadiansAngle();
+            angle = view.getRadiansAngle();
+            if (replay.firstStep == 0) {
+                replay.firstStep = step;
+            }
+            if (step > 0) {
+                replay.lastStep = step;
+            }
+            replay.minAngle = Math.min(replay.minAngle, angle);
+        }
+        replay.finalAngle = angle;
+        return replay;
+    }
+
+    private Replay replay(int[][] stream, boolean predictionEnabled) {
+        HorizontalWheelView view = new HorizontalWheelView(RuntimeEnvironment.application, null);
+        view.setLowLatencyTouchEnabled(true);
+        view.setTouchPredictionEnabled(predictionEnabled);
+        final Replay replay = new Replay(stream.length);
+        view.setListener(new HorizontalWheelView.Listener() {
+            @Override
+            public void onScrollStateChanged(int state) {
+                replay.scrollStates.add(state);
+            }
+        });
+        for (int i = 0; i < stream.length; i++) {
+            MotionEvent event = createEvent(stream[i]);
+            view.onTouchEvent(event);
+            event.recycle();
+            replay.angles[i] = view.getRadiansAngle();
+        }
+        return replay;
+    }
+
+    private MotionEvent createEvent(int[] row) {
+        MotionEvent event = MotionEvent.obtain(0, row[1], row[0], row[2], 0, 0);
+        for (int i = 3; i < row.length; i += 2) {
+            event.addBatch(row[i], row[i + 1], 0, 1, 1, 0);
+        }
+        return event;
+    }
+
+    private static class Replay {
+
+        final double[] angles;
+        final List<Integer> scrollStates = new ArrayList<>();
+        double minAngle;
+        double finalAngle;
+        double firstStep;
+        double lastStep;
+
+        Replay(int eventsCount) {
+            angles = new double[eventsCount];
+        }
+
+    }
+
+}
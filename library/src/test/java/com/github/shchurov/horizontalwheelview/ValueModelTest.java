@@ -0,0 +1,69 @@
+package com.github.shchurov.horizontalwheelview;
+
+import org.junit.Test;
+
+import static java.lang.Math.PI;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+public class ValueModelTest {
+
+    private static final int MARKS_COUNT = 40;
+    private static final double EPSILON = 1e-12;
+
+    @Test
+    public void acceptsRangesInsideOneTurn() {
+        ValueModel.checkRange(0, MARKS_COUNT - 1, 1, MARKS_COUNT, true);
+        ValueModel.checkRange(-(MARKS_COUNT - 1), MARKS_COUNT - 1, 1, MARKS_COUNT, false);
+        ValueModel.checkRange(-195, 195, 5, MARKS_COUNT, false);
+    }
+
+    @Test
+    public void rejectsRangesThatWrap() {
+        assertRejected(0, 100, 1, MARKS_COUNT, false);
+        assertRejected(0, MARKS_COUNT, 1, MARKS_COUNT, false);
+        assertRejected(-200, 0, 5, MARKS_COUNT, false);
+    }
+
+    @Test
+    public void rejectsNegativeMinValueWithOnlyPositiveValues() {
+        assertRejected(-1, 10, 1, MARKS_COUNT, true);
+    }
+
+    @Test
+    public void rejectsInvalidSteps() {
+        assertRejected(0, 10, 0, MARKS_COUNT, false);
+        assertRejected(0, 10, -1, MARKS_COUNT, false);
+        assertRejected(10, 0, 1, MARKS_COUNT, false);
+    }
+
+    @Test
+    public void rejectsOverflowingRanges() {
+        assertRejected(Integer.MIN_VALUE, Integer.MAX_VALUE, 1, MARKS_COUNT, false);
+        assertRejected(0, Integer.MAX_VALUE, 1, Integer.MAX_VALUE, false);
+        assertRejected(0, ValueModel.MAX_VALUES_COUNT, 1, Integer.MAX_VALUE, false);
+        ValueModel.checkRange(0, ValueModel.MAX_VALUES_COUNT - 1, 1, Integer.MAX_VALUE, false);
+        ValueModel.checkRange(Integer.MIN_VALUE, Integer.MAX_VALUE, Integer.MAX_VALUE, MARKS_COUNT, false);
+    }
+
+    @Test
+    public void mapsValuesToMarkAngles() {
+        ValueModel model = new ValueModel();
+        model.setup(-20, 30, 5, MARKS_COUNT);
+        double markStep = 2 * PI / MARKS_COUNT;
+        assertEquals(-4 * markStep, model.getAngle(0), EPSILON);
+        assertEquals(6 * markStep, model.getAngle(model.findIndex(30)), EPSILON);
+        assertEquals(10, model.getValue(model.findNearestIndex(2.2 * markStep)));
+        assertEquals(-20, model.getValue(model.findIndex(-1000)));
+        assertEquals(6 * markStep, model.clampAngle(PI), EPSILON);
+    }
+
+    private void assertRejected(int minValue, int maxValue, int step, int marksCount, boolean onlyPositiveValues) {
+        try {
+            ValueModel.checkRange(minValue, maxValue, step, marksCount, onlyPositiveValues);
+            fail("accepted [" + minValue + ", " + maxValue + "] / " + step + " with " + marksCount + " marks");
+        } catch (IllegalArgumentException expected) {
+        }
+    }
+
+}
@@ -0,0 +1,130 @@
+package com.github.shchurov.horizontalwheelview;
+
+import org.junit.Test;
+
+import static java.lang.Math.PI;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class WheelGeometryTest {
+
+    private static final int WIDTH = 1080;
+    private static final int ANGLES_COUNT = 97;
+    private static final double MAX_PIXEL_ERROR = 1e-3;
+    private static final double MAX_FACTOR_ERROR = 1e-6;
+    private static final float[] MIN_MARKS_SPACINGS = {4, 12, 40};
+
+    @Test
+    public void trigTableMatchesExactGeometry() {
+        WheelGeometry exact = createGeometry(false);
+        WheelGeometry table = createGeometry(true);
+        double maxPixelError = 0;
+        double maxFactorError = 0;
+        for (int marksCount = 10; marksCount <= 1000; marksCount++) {
+            exact.setMarksCount(marksCount);
+            table.setMarksCount(marksCount);
+            for (int i = 0; i < ANGLES_COUNT; i++) {
+                double angle = -2 * PI + 4 * PI * i / ANGLES_COUNT;
+                exact.update(angle);
+                table.update(angle);
+                maxPixelError = Math.max(maxPixelError, calcMaxPositionError(exact.getGaps(), table.getGaps()));
+                maxFactorError = Math.max(maxFactorError, calcMaxError(exact.getShades(), table.getShades()));
+                maxFactorError = Math.max(maxFactorError, calcMaxError(exact.getScales(), table.getScales()));
+                assertEquals(exact.getZeroIndex(), table.getZeroIndex());
+                assertArrayEquals(exact.getColorSwitches(), table.getColorSwitches());
+            }
+        }
+        assertTrue("max pixel error " + maxPixelError, maxPixelError < MAX_PIXEL_ERROR);
+        assertTrue("max shade/scale error " + maxFactorError, maxFactorError < MAX_FACTOR_ERROR);
+    }
+
+    @Test
+    public void trigTableMatchesSine() {
+        double step = 2 * PI / 360;
+        TrigTable table = new TrigTable(step, 181);
+        double offset = step / 3;
+        for (int i = 0; i < 181; i++) {
+            assertEquals(Math.sin(offset + i * step),
+                    table.sinAt(i, Math.sin(offset), Math.cos(offset)), 1e-12);
+            assertEquals(Math.sin(offset + i * step + step / 2),
+                    table.sinBetween(i, Math.sin(offset), Math.cos(offset)), 1e-12);
+        }
+    }
+
+    @Test
+    public void levelOfDetailStrideDividesMarksCount() {
+        WheelGeometry geometry = createGeometry(true);
+        for (float minSpacing : MIN_MARKS_SPACINGS) {
+            geometry.setLevelOfDetail(true, minSpacing);
+            for (int marksCount = 10; marksCount <= 1000; marksCount++) {
+                geometry.setMarksCount(marksCount);
+                int renderedMarksCount = (int) Math.round(2 * PI / geometry.getStep());
+                int stride = marksCount / renderedMarksCount;
+                String message = marksCount + " marks, min spacing " + minSpacing;
+                assertEquals(message, marksCount, stride * renderedMarksCount);
+                assertEquals(message, findExpectedStride(marksCount, minSpacing), stride);
+            }
+        }
+    }
+
+    @Test
+    public void levelOfDetailKeepsTheZeroMark() {
+        WheelGeometry geometry = createGeometry(true);
+        geometry.setLevelOfDetail(true, MIN_MARKS_SPACINGS[MIN_MARKS_SPACINGS.length - 1]);
+        for (int marksCount = 10; marksCount <= 1000; marksCount += 7) {
+            geometry.setMarksCount(marksCount);
+            for (int i = 0; i < ANGLES_COUNT; i++) {
+                // shifted off the sampled angles above, which put marks exactly on the edge for some counts
+                double angle = -2 * PI + 4 * PI * (i + 0.37) / ANGLES_COUNT;
+                geometry.update(angle);
+                int zeroIndex = geometry.getZeroIndex();
+                if (zeroIndex != -1) {
+                    assertEquals(marksCount + " marks, angle " + angle, 0, geometry.getMarkIndex(zeroIndex));
+                }
+            }
+        }
+    }
+
+    private int findExpectedStride(int marksCount, float minSpacing) {
+        for (int stride = 1; stride < marksCount; stride++) {
+            if (marksCount % stride == 0 && calcSpacing(marksCount, stride) >= minSpacing / 2) {
+                return calcSpacing(marksCount, stride) > 4 * minSpacing ? 1 : stride;
+            }
+        }
+        return calcSpacing(marksCount, marksCount) > 4 * minSpacing ? 1 : marksCount;
+    }
+
+    private float calcSpacing(int marksCount, int stride) {
+        return 2f * WIDTH * stride / marksCount;
+    }
+
+    private WheelGeometry createGeometry(boolean trigTableEnabled) {
+        WheelGeometry geometry = new WheelGeometry();
+        geometry.setTrigTableEnabled(trigTableEnabled);
+        geometry.setShowActiveRange(true);
+        geometry.setWidth(WIDTH);
+        return geometry;
+    }
+
+    private double calcMaxPositionError(float[] expectedGaps, float[] actualGaps) {
+        double expectedX = 0;
+        double actualX = 0;
+        double maxError = 0;
+        for (int i = 0; i < expectedGaps.length && expectedGaps[i] != -1; i++) {
+            expectedX += expectedGaps[i];
+            actualX += actualGaps[i];
+            maxError = Math.max(maxError, Math.abs(expectedX - actualX));
+        }
+        return maxError;
+    }
+
+    private double calcMaxError(float[] expected, float[] actual) {
+        double maxError = 0;
+        for (int i = 0; i < expected.length; i++) {
+            maxError = Math.max(maxError, Math.abs(expected[i] - actual[i]));
+        }
+        return maxError;
+    }
+
+}